@@ -0,0 +1,60 @@
+package com.game2048;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchMoveBenchmark {
+    private static final int BOARDS = 4096;
+
+    private final BoardBatch batch = new BoardBatch(BOARDS);
+    private final byte[][] directions = new byte[4][BOARDS];
+    private final long[] tiles = new long[BOARDS];
+    private final int[] scores = new int[BOARDS];
+    private int round;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(2048);
+        long[] generated = BenchBoards.generate("random", 2048);
+        long[] boards = new long[BOARDS];
+        for (int i = 0; i < BOARDS; i++) {
+            boards[i] = generated[i & BenchBoards.MASK] ^ ((long) i << 60);
+            for (byte[] set : directions) {
+                set[i] = (byte) random.nextInt(4);
+            }
+        }
+        batch.load(boards);
+        System.arraycopy(boards, 0, tiles, 0, BOARDS);
+        Arrays.fill(scores, 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public int batchMove() {
+        return batch.move(directions[round++ & 3]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public int scalarMove() {
+        byte[] set = directions[round++ & 3];
+        int count = 0;
+        for (int i = 0; i < BOARDS; i++) {
+            long board = tiles[i];
+            long next = BitBoard.move(board, set[i]);
+            scores[i] += BitBoard.moveScore(board, set[i]);
+            tiles[i] = next;
+            count += next != board ? 1 : 0;
+        }
+        return count;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.game2048;
+
+import java.util.SplittableRandom;
+
+final class BenchBoards {
+    static final int COUNT = 1024;
+    static final int MASK = COUNT - 1;
+
+    private BenchBoards() {
+    }
+
+    static long[] generate(String kind, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] boards = new long[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            boards[i] = kind.equals("nearFull") ? nearFull(random) : randomBoard(random);
+        }
+        return boards;
+    }
+
+    private static long randomBoard(SplittableRandom random) {
+        long tiles = 0L;
+        for (int cell = 0; cell < 16; cell++) {
+            if (random.nextInt(3) > 0) {
+                tiles |= (long) (1 + random.nextInt(10)) << (cell * 4);
+            }
+        }
+        return tiles;
+    }
+
+    private static long nearFull(SplittableRandom random) {
+        long tiles = 0L;
+        int hole = random.nextInt(16);
+        for (int cell = 0; cell < 16; cell++) {
+            if (cell != hole) {
+                tiles |= (long) (1 + random.nextInt(11)) << (cell * 4);
+            }
+        }
+        return tiles;
+    }
+
+    static void load(GameBoard board, long tiles) {
+        for (int row = 0; row < BitBoard.SIZE; row++) {
+            for (int col = 0; col < BitBoard.SIZE; col++) {
+                int exponent = BitBoard.exponentAt(tiles, row, col);
+                board.setTile(row, col, exponent == 0 ? 0 : 1 << exponent);
+            }
+        }
+    }
+}
\ No newline at end of file
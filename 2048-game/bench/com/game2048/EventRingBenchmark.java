@@ -0,0 +1,54 @@
+package com.game2048;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventRingBenchmark {
+    @Param({"grid", "bitboard"})
+    public String board;
+
+    @Param({"false", "true"})
+    public boolean events;
+
+    private Board target;
+    private final SplittableRandom random = new SplittableRandom(2048);
+    private final GameEventRing ring = new GameEventRing(1 << 12);
+    private final GameEventRing.Consumer consumer = ring.newConsumer(256);
+    private long checksum;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpawnSource spawns = SpawnSource.seeded(2048);
+        target = board.equals("bitboard") ? new BitBoard(spawns) : new GameBoard(spawns);
+        if (events) {
+            target.setEventRing(ring);
+        }
+    }
+
+    @Benchmark
+    public boolean move() {
+        if (target.isGameOver()) {
+            target.reset();
+        }
+        return target.move(random.nextInt(4));
+    }
+
+    @Benchmark
+    public long moveAndDrain() {
+        if (target.isGameOver()) {
+            target.reset();
+        }
+        target.move(random.nextInt(4));
+        while (consumer.poll((event, endOfBatch) -> checksum += event) > 0) {
+        }
+        return checksum;
+    }
+}
\ No newline at end of file
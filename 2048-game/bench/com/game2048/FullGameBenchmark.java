@@ -0,0 +1,32 @@
+package com.game2048;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FullGameBenchmark {
+    @Param({"random", "greedy"})
+    public String policy;
+
+    private MovePolicy movePolicy;
+    private final SplittableRandom random = new SplittableRandom(2048);
+    private final SimulationStats stats = new SimulationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        movePolicy = Simulator.policyByName(policy);
+    }
+
+    @Benchmark
+    public long playGame() {
+        Simulator.playGame(movePolicy, random, stats);
+        return stats.getGames();
+    }
+}
\ No newline at end of file
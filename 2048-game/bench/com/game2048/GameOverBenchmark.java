@@ -0,0 +1,42 @@
+package com.game2048;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameOverBenchmark {
+    @Param({"random", "nearFull"})
+    public String kind;
+
+    private long[] boards;
+    private GameBoard[] gameBoards;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boards = BenchBoards.generate(kind, 2048);
+        gameBoards = new GameBoard[BenchBoards.COUNT];
+        for (int i = 0; i < gameBoards.length; i++) {
+            gameBoards[i] = new GameBoard(SpawnSource.seeded(i));
+            gameBoards[i].restore(boards[i], 0);
+        }
+    }
+
+    @Benchmark
+    public boolean gameBoardCheckGameOver() {
+        GameBoard board = gameBoards[index++ & BenchBoards.MASK];
+        board.checkGameOver();
+        return board.isGameOver();
+    }
+
+    @Benchmark
+    public boolean bitBoardCanMove() {
+        return BitBoard.canMove(boards[index++ & BenchBoards.MASK]);
+    }
+}
\ No newline at end of file
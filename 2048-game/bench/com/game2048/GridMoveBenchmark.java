@@ -0,0 +1,55 @@
+package com.game2048;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GridMoveBenchmark {
+    @Param({"4", "5", "6", "8"})
+    public int size;
+
+    @Param({"0", "1", "2", "3"})
+    public int direction;
+
+    private int[][] boards;
+    private GameBoard gameBoard;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(2048);
+        boards = new int[BenchBoards.COUNT][size * size];
+        for (int[] board : boards) {
+            for (int cell = 0; cell < board.length; cell++) {
+                board[cell] = random.nextInt(3) > 0 ? 1 << (1 + random.nextInt(10)) : 0;
+            }
+        }
+        gameBoard = new GameBoard(size, size, new SplittableRandom(2048));
+    }
+
+    private void loadNext() {
+        int[] board = boards[index++ & BenchBoards.MASK];
+        for (int cell = 0; cell < board.length; cell++) {
+            gameBoard.setTile(cell / size, cell % size, board[cell]);
+        }
+    }
+
+    @Benchmark
+    public int load() {
+        loadNext();
+        return gameBoard.getTileValue(0, 0);
+    }
+
+    @Benchmark
+    public boolean loadAndMove() {
+        loadNext();
+        return gameBoard.move(direction);
+    }
+}
\ No newline at end of file
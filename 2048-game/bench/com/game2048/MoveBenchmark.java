@@ -0,0 +1,58 @@
+package com.game2048;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveBenchmark {
+    @Param({"random", "nearFull"})
+    public String kind;
+
+    @Param({"0", "1", "2", "3"})
+    public int direction;
+
+    private long[] boards;
+    private final GameBoard gameBoard = new GameBoard(SpawnSource.seeded(2048));
+    private final BitBoard bitBoard = new BitBoard(SpawnSource.seeded(2048));
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boards = BenchBoards.generate(kind, 2048);
+    }
+
+    @Benchmark
+    public int gameBoardRestore() {
+        gameBoard.restore(boards[index++ & BenchBoards.MASK], 0);
+        return gameBoard.getScore();
+    }
+
+    @Benchmark
+    public boolean gameBoardMove() {
+        gameBoard.restore(boards[index++ & BenchBoards.MASK], 0);
+        return gameBoard.move(direction);
+    }
+
+    @Benchmark
+    public int bitBoardRestore() {
+        bitBoard.restore(boards[index++ & BenchBoards.MASK], 0);
+        return bitBoard.getScore();
+    }
+
+    @Benchmark
+    public boolean bitBoardMove() {
+        bitBoard.restore(boards[index++ & BenchBoards.MASK], 0);
+        return bitBoard.move(direction);
+    }
+
+    @Benchmark
+    public long bitBoardSlide() {
+        return BitBoard.move(boards[index++ & BenchBoards.MASK], direction);
+    }
+}
\ No newline at end of file
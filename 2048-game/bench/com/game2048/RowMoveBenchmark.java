@@ -0,0 +1,61 @@
+package com.game2048;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMoveBenchmark {
+    private final int[] rows = new int[BenchBoards.COUNT];
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(2048);
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = random.nextInt(RowTables.ROWS);
+        }
+    }
+
+    @Benchmark
+    public int tableLookup() {
+        int row = rows[index++ & BenchBoards.MASK];
+        return RowTables.LEFT[row] + RowTables.SCORE[row];
+    }
+
+    @Benchmark
+    public int listMerge() {
+        int row = rows[index++ & BenchBoards.MASK];
+        List<Tile> tiles = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int exponent = (row >>> (i * 4)) & 0xF;
+            if (exponent != 0) {
+                tiles.add(Tile.createWithValue(1 << exponent, 0, i));
+            }
+        }
+
+        List<Tile> result = new ArrayList<>();
+        int gain = 0;
+        for (int i = 0; i < tiles.size(); i++) {
+            Tile current = tiles.get(i);
+            if (i < tiles.size() - 1 && current.getValue() == tiles.get(i + 1).getValue()) {
+                Tile merged = Tile.createWithValue(current.getValue() * 2, current.getRow(), current.getCol());
+                merged.setMerged(true);
+                gain += merged.getValue();
+                result.add(merged);
+                i++;
+            } else {
+                result.add(current);
+            }
+        }
+        return result.size() + gain;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.game2048;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpawnBenchmark {
+    @Param({"random", "nearFull"})
+    public String kind;
+
+    private long[] boards;
+    private final SplittableRandom random = new SplittableRandom(2048);
+    private final GameBoard gameBoard = new GameBoard(SpawnSource.seeded(2048));
+    private final BitBoard bitBoard = new BitBoard(SpawnSource.seeded(2048));
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boards = BenchBoards.generate(kind, 2048);
+    }
+
+    @Benchmark
+    public int gameBoardRestore() {
+        gameBoard.restore(boards[index++ & BenchBoards.MASK], 0);
+        return gameBoard.getScore();
+    }
+
+    @Benchmark
+    public boolean gameBoardAddRandomTile() {
+        gameBoard.restore(boards[index++ & BenchBoards.MASK], 0);
+        return gameBoard.addRandomTile();
+    }
+
+    @Benchmark
+    public int bitBoardRestore() {
+        bitBoard.restore(boards[index++ & BenchBoards.MASK], 0);
+        return bitBoard.getScore();
+    }
+
+    @Benchmark
+    public boolean bitBoardAddRandomTile() {
+        bitBoard.restore(boards[index++ & BenchBoards.MASK], 0);
+        return bitBoard.addRandomTile();
+    }
+
+    @Benchmark
+    public long bitBoardSpawnPacked() {
+        return BitBoard.addRandomTile(boards[index++ & BenchBoards.MASK], random);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.game2048;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SymmetryBenchmark {
+    private long[] boards;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boards = BenchBoards.generate("random", 2048);
+    }
+
+    @Benchmark
+    public long transpose() {
+        return BitBoard.transpose(boards[index++ & BenchBoards.MASK]);
+    }
+
+    @Benchmark
+    public long rotateClockwise() {
+        return BoardSymmetry.rotateClockwise(boards[index++ & BenchBoards.MASK]);
+    }
+
+    @Benchmark
+    public long canonical() {
+        return BoardSymmetry.canonical(boards[index++ & BenchBoards.MASK]);
+    }
+
+    @Benchmark
+    public int canonicalSymmetry() {
+        return BoardSymmetry.canonicalSymmetry(boards[index++ & BenchBoards.MASK]);
+    }
+}
\ No newline at end of file
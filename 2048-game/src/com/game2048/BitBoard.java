@@ -0,0 +1,427 @@
+package com.game2048;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+public class BitBoard implements Board {
+    public static final int SIZE = 4;
+    private static final int CELLS = SIZE * SIZE;
+    static final int WINNING_EXPONENT = Integer.numberOfTrailingZeros(GameConstants.WINNING_VALUE);
+
+    private long tiles;
+    private long changed;
+    private int score;
+    private int bestScore;
+    private boolean gameWon;
+    private boolean gameOver;
+    private final SpawnSource spawnRoot;
+    private SpawnSource spawns;
+
+    private GameListener listener;
+    private GameEventRing events;
+
+    public BitBoard() {
+        this(new Random());
+    }
+
+    public BitBoard(RandomGenerator random) {
+        this(SpawnSource.of(random));
+    }
+
+    public BitBoard(SpawnSource spawns) {
+        spawnRoot = spawns;
+        this.spawns = spawns.nextGame();
+        score = 0;
+        bestScore = 0;
+        gameWon = false;
+        gameOver = false;
+
+        tiles = 0L;
+        changed = -1L;
+        for (int i = 0; i < GameConstants.INITIAL_TILES_COUNT; i++) {
+            spawnTile();
+        }
+    }
+
+    @Override
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void setEventRing(GameEventRing events) {
+        this.events = events;
+    }
+
+    @Override
+    public boolean addRandomTile() {
+        boolean added = spawnTile();
+        if (events != null) events.flush();
+        return added;
+    }
+
+    private boolean spawnTile() {
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0L;
+        long next = addRandomTile(tiles, spawns);
+        if (next == tiles) return false;
+
+        if (GameMetrics.ENABLED) {
+            GameMetrics.recordSpawn(tiles, next, System.nanoTime() - start);
+        }
+        if (events != null) {
+            publishSpawn(events, tiles, next);
+        }
+        tiles = next;
+        return true;
+    }
+
+    @Override
+    public boolean move(int direction) {
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0L;
+        long before = tiles;
+        int scoreBefore = score;
+        boolean moved = false;
+
+        switch (direction) {
+            case 0: moved = moveUp(); break;
+            case 1: moved = moveRight(); break;
+            case 2: moved = moveDown(); break;
+            case 3: moved = moveLeft(); break;
+        }
+
+        changed = 0L;
+        if (moved) {
+            if (events != null) {
+                publishMove(events, before, direction);
+            }
+            spawnTile();
+            changed = before ^ tiles;
+            if (events != null && score != scoreBefore) {
+                events.publish(GameEvent.scoreChanged(score - scoreBefore));
+            }
+            checkGameWon();
+            checkGameOver();
+            if (GameMetrics.ENABLED) {
+                GameMetrics.recordMove(System.nanoTime() - start, countEmpty(tiles) + 1 - countEmpty(before));
+            }
+            if (listener != null) {
+                listener.onScoreChanged(score);
+            }
+            if (events != null) {
+                events.flush();
+            }
+        }
+
+        return moved;
+    }
+
+    private boolean moveUp() {
+        long transposed = transpose(tiles);
+        long result = transpose(applyRows(transposed, false));
+        return update(result, gainRows(transposed));
+    }
+
+    private boolean moveRight() {
+        return update(applyRows(tiles, true), gainRows(tiles));
+    }
+
+    private boolean moveDown() {
+        long transposed = transpose(tiles);
+        long result = transpose(applyRows(transposed, true));
+        return update(result, gainRows(transposed));
+    }
+
+    private boolean moveLeft() {
+        return update(applyRows(tiles, false), gainRows(tiles));
+    }
+
+    private boolean update(long result, int gain) {
+        if (result == tiles) return false;
+
+        tiles = result;
+        score += gain;
+        if (score > bestScore) bestScore = score;
+        return true;
+    }
+
+    private void checkGameWon() {
+        if (gameWon) return;
+
+        if (maxExponent(tiles) >= WINNING_EXPONENT) {
+            gameWon = true;
+            if (events != null) {
+                events.publish(GameEvent.terminal(gameOver, gameWon));
+            }
+            if (listener != null) {
+                listener.onGameStateChanged(gameOver, gameWon);
+            }
+        }
+    }
+
+    private void checkGameOver() {
+        if (canMove(tiles)) {
+            gameOver = false;
+            return;
+        }
+
+        gameOver = true;
+        if (events != null) {
+            events.publish(GameEvent.terminal(gameOver, gameWon));
+        }
+        if (listener != null) {
+            listener.onGameStateChanged(gameOver, gameWon);
+        }
+    }
+
+    @Override
+    public void reset() {
+        score = 0;
+        gameWon = false;
+        gameOver = false;
+        tiles = 0L;
+        changed = -1L;
+        spawns = spawnRoot.nextGame();
+        if (events != null) {
+            events.publish(GameEvent.boardReset(score, gameOver, gameWon));
+        }
+
+        for (int i = 0; i < GameConstants.INITIAL_TILES_COUNT; i++) {
+            spawnTile();
+        }
+
+        if (events != null) {
+            events.flush();
+        }
+        if (listener != null) {
+            listener.onScoreChanged(score);
+            listener.onGameStateChanged(gameOver, gameWon);
+        }
+    }
+
+    @Override
+    public void restore(long tiles, int score) {
+        changed = this.tiles ^ tiles;
+        this.tiles = tiles;
+        this.score = score;
+        if (score > bestScore) bestScore = score;
+        gameWon = maxExponent(tiles) >= WINNING_EXPONENT;
+        gameOver = !canMove(tiles);
+
+        if (events != null) {
+            events.publish(GameEvent.boardReset(score, gameOver, gameWon));
+            events.flush();
+        }
+        if (listener != null) {
+            listener.onScoreChanged(score);
+            listener.onGameStateChanged(gameOver, gameWon);
+        }
+    }
+
+    public static boolean supports(Board board) {
+        return board.getRows() == SIZE && board.getCols() == SIZE;
+    }
+
+    public static long pack(Board board) {
+        if (board instanceof BitBoard) {
+            return ((BitBoard) board).tiles;
+        }
+        if (board instanceof ConcurrentBoard) {
+            return ((ConcurrentBoard) board).snapshot().getTiles();
+        }
+        if (!supports(board)) {
+            throw new IllegalArgumentException("BitBoard only packs " + SIZE + "x" + SIZE + " boards: "
+                    + board.getRows() + "x" + board.getCols());
+        }
+
+        long tiles = 0L;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                int value = board.getTileValue(row, col);
+                if (value != 0) {
+                    tiles |= (long) Integer.numberOfTrailingZeros(value) << ((row * SIZE + col) * 4);
+                }
+            }
+        }
+        return tiles;
+    }
+
+    public static long addRandomTile(long tiles, RandomGenerator random) {
+        long empty = emptyCells(tiles);
+        if (empty == 0) return tiles;
+
+        for (int skip = random.nextInt(Long.bitCount(empty)); skip > 0; skip--) {
+            empty &= empty - 1;
+        }
+        long exponent = random.nextInt(10) < 9 ? 1 : 2;
+        return tiles | exponent << Long.numberOfTrailingZeros(empty);
+    }
+
+    public static long addRandomTile(long tiles, SpawnSource spawns) {
+        long empty = emptyCells(tiles);
+        if (empty == 0) return tiles;
+
+        for (int skip = spawns.selectEmpty(Long.bitCount(empty)); skip > 0; skip--) {
+            empty &= empty - 1;
+        }
+        long exponent = spawns.selectExponent();
+        return tiles | exponent << Long.numberOfTrailingZeros(empty);
+    }
+
+    static void publishMove(GameEventRing events, long tiles, int direction) {
+        boolean vertical = direction == 0 || direction == 2;
+        boolean forward = direction == 0 || direction == 3;
+        for (int line = 0; line < SIZE; line++) {
+            int first = vertical ? line : line * SIZE;
+            int step = vertical ? SIZE : 1;
+            if (!forward) {
+                first += (SIZE - 1) * step;
+                step = -step;
+            }
+            int row = 0;
+            for (int j = 0; j < SIZE; j++) {
+                row |= (int) ((tiles >>> ((first + j * step) * 4)) & 0xF) << (j * 4);
+            }
+            publishLine(events, row, first, step);
+        }
+    }
+
+    static void publishLine(GameEventRing events, int line, int first, int step) {
+        int target = first;
+        int pending = 0;
+        int pendingCell = 0;
+
+        for (int j = 0; j < SIZE; j++) {
+            int cell = first + j * step;
+            int exponent = (line >>> (j * 4)) & 0xF;
+            if (exponent == 0) continue;
+
+            if (pending == 0) {
+                pending = exponent;
+                pendingCell = cell;
+            } else if (pending == exponent && exponent < RowTables.MAX_EXPONENT) {
+                if (pendingCell != target) events.publish(GameEvent.tileMoved(pendingCell, target, pending));
+                events.publish(GameEvent.tilesMerged(cell, target, exponent + 1));
+                target += step;
+                pending = 0;
+            } else {
+                if (pendingCell != target) events.publish(GameEvent.tileMoved(pendingCell, target, pending));
+                target += step;
+                pending = exponent;
+                pendingCell = cell;
+            }
+        }
+        if (pending != 0 && pendingCell != target) {
+            events.publish(GameEvent.tileMoved(pendingCell, target, pending));
+        }
+    }
+
+    static void publishSpawn(GameEventRing events, long before, long after) {
+        if (after == before) return;
+
+        int cell = Long.numberOfTrailingZeros(after ^ before) >>> 2;
+        events.publish(GameEvent.tileSpawned(cell, (int) ((after >>> (cell * 4)) & 0xF)));
+    }
+
+    public static long emptyCells(long tiles) {
+        long occupied = tiles | (tiles >>> 1);
+        occupied |= occupied >>> 2;
+        return ~occupied & 0x1111111111111111L;
+    }
+
+    public static long move(long tiles, int direction) {
+        switch (direction) {
+            case 0: return transpose(applyRows(transpose(tiles), false));
+            case 1: return applyRows(tiles, true);
+            case 2: return transpose(applyRows(transpose(tiles), true));
+            case 3: return applyRows(tiles, false);
+            default: return tiles;
+        }
+    }
+
+    public static int moveScore(long tiles, int direction) {
+        switch (direction) {
+            case 0: return gainRows(transpose(tiles));
+            case 1: return gainRows(tiles);
+            case 2: return gainRows(transpose(tiles));
+            case 3: return gainRows(tiles);
+            default: return 0;
+        }
+    }
+
+    public static boolean canMove(long tiles) {
+        return countEmpty(tiles) > 0
+                || applyRows(tiles, false) != tiles
+                || applyRows(transpose(tiles), false) != transpose(tiles);
+    }
+
+    public static int countEmpty(long tiles) {
+        return Long.bitCount(emptyCells(tiles));
+    }
+
+    public static int maxExponent(long tiles) {
+        int max = 0;
+        for (int i = 0; i < CELLS; i++) {
+            max = Math.max(max, (int) (tiles & 0xF));
+            tiles >>>= 4;
+        }
+        return max;
+    }
+
+    public static int exponentAt(long tiles, int row, int col) {
+        return (int) ((tiles >>> ((row * SIZE + col) * 4)) & 0xF);
+    }
+
+    public static long transpose(long x) {
+        long a1 = x & 0xF0F00F0FF0F00F0FL;
+        long a2 = x & 0x0000F0F00000F0F0L;
+        long a3 = x & 0x0F0F00000F0F0000L;
+        long a = a1 | (a2 << 12) | (a3 >>> 12);
+        long b1 = a & 0xFF00FF0000FF00FFL;
+        long b2 = a & 0x00FF00FF00000000L;
+        long b3 = a & 0x00000000FF00FF00L;
+        return b1 | (b2 >>> 24) | (b3 << 24);
+    }
+
+    private static long applyRows(long tiles, boolean reversed) {
+        char[] table = reversed ? RowTables.RIGHT : RowTables.LEFT;
+        return (long) table[(int) (tiles & 0xFFFF)]
+                | (long) table[(int) ((tiles >>> 16) & 0xFFFF)] << 16
+                | (long) table[(int) ((tiles >>> 32) & 0xFFFF)] << 32
+                | (long) table[(int) (tiles >>> 48)] << 48;
+    }
+
+    private static int gainRows(long tiles) {
+        int[] table = RowTables.SCORE;
+        return table[(int) (tiles & 0xFFFF)]
+                + table[(int) ((tiles >>> 16) & 0xFFFF)]
+                + table[(int) ((tiles >>> 32) & 0xFFFF)]
+                + table[(int) (tiles >>> 48)];
+    }
+
+    public long getTiles() { return tiles; }
+
+    @Override
+    public int getRows() { return SIZE; }
+    @Override
+    public int getCols() { return SIZE; }
+
+    @Override
+    public int getTileValue(int row, int col) {
+        int exponent = exponentAt(tiles, row, col);
+        return exponent == 0 ? 0 : 1 << exponent;
+    }
+
+    @Override
+    public boolean isTileChanged(int row, int col) {
+        return exponentAt(changed, row, col) != 0;
+    }
+
+    @Override
+    public int getScore() { return score; }
+    @Override
+    public int getBestScore() { return bestScore; }
+    @Override
+    public boolean isGameWon() { return gameWon; }
+    @Override
+    public boolean isGameOver() { return gameOver; }
+}
\ No newline at end of file
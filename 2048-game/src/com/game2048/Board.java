@@ -0,0 +1,25 @@
+package com.game2048;
+
+public interface Board {
+    interface GameListener {
+        void onScoreChanged(int score);
+        void onGameStateChanged(boolean gameOver, boolean gameWon);
+    }
+
+    void setListener(GameListener listener);
+    void setEventRing(GameEventRing events);
+
+    boolean move(int direction);
+    boolean addRandomTile();
+    void reset();
+    void restore(long tiles, int score);
+
+    int getRows();
+    int getCols();
+    int getTileValue(int row, int col);
+    boolean isTileChanged(int row, int col);
+    int getScore();
+    int getBestScore();
+    boolean isGameWon();
+    boolean isGameOver();
+}
\ No newline at end of file
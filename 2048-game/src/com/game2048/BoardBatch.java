@@ -0,0 +1,118 @@
+package com.game2048;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Moves match GameBoard.move bit for bit on boards that pass supports(); GameBoard merges two
+// 32768 tiles into a tile the packed format cannot hold, so boards holding one are flagged instead.
+public class BoardBatch {
+    private static final long NIBBLE_LOW_BITS = 0x1111111111111111L;
+
+    private final int size;
+    private final long[] tiles;
+    private final int[] scores;
+    private final int[] gains;
+    private final boolean[] moved;
+
+    public BoardBatch(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be at least 1: " + size);
+        }
+        this.size = size;
+        tiles = new long[size];
+        scores = new int[size];
+        gains = new int[size];
+        moved = new boolean[size];
+    }
+
+    public void set(int index, long board, int score) {
+        tiles[index] = board;
+        scores[index] = score;
+        gains[index] = 0;
+        moved[index] = false;
+    }
+
+    public void load(long[] boards) {
+        if (boards.length < size) {
+            throw new IllegalArgumentException("Expected " + size + " boards, got " + boards.length);
+        }
+        System.arraycopy(boards, 0, tiles, 0, size);
+        Arrays.fill(scores, 0);
+        Arrays.fill(gains, 0);
+        Arrays.fill(moved, false);
+    }
+
+    public int move(int direction) {
+        if (direction < 0 || direction > 3) {
+            throw new IllegalArgumentException("Invalid direction: " + direction);
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += step(i, direction);
+        }
+        return count;
+    }
+
+    public int move(byte[] directions) {
+        if (directions.length < size) {
+            throw new IllegalArgumentException("Expected " + size + " directions, got " + directions.length);
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int direction = directions[i];
+            if ((direction & ~3) != 0) {
+                throw new IllegalArgumentException("Invalid direction at " + i + ": " + direction);
+            }
+            count += step(i, direction);
+        }
+        return count;
+    }
+
+    private int step(int index, int direction) {
+        long board = tiles[index];
+        boolean vertical = (direction & 1) == 0;
+        char[] table = direction == 1 || direction == 2 ? RowTables.RIGHT : RowTables.LEFT;
+        int[] gainTable = RowTables.SCORE;
+        long lines = vertical ? BitBoard.transpose(board) : board;
+
+        int row0 = (int) lines & 0xFFFF;
+        int row1 = (int) (lines >>> 16) & 0xFFFF;
+        int row2 = (int) (lines >>> 32) & 0xFFFF;
+        int row3 = (int) (lines >>> 48);
+
+        long result = table[row0]
+                | (long) table[row1] << 16
+                | (long) table[row2] << 32
+                | (long) table[row3] << 48;
+        if (vertical) {
+            result = BitBoard.transpose(result);
+        }
+        int gain = gainTable[row0] + gainTable[row1] + gainTable[row2] + gainTable[row3];
+        boolean changed = result != board;
+
+        tiles[index] = result;
+        scores[index] += gain;
+        gains[index] = gain;
+        moved[index] = changed;
+        return changed ? 1 : 0;
+    }
+
+    public void spawn(RandomGenerator random) {
+        for (int i = 0; i < size; i++) {
+            if (moved[i]) {
+                tiles[i] = BitBoard.addRandomTile(tiles[i], random);
+            }
+        }
+    }
+
+    public static boolean supports(long board) {
+        return (board & (board >>> 1) & (board >>> 2) & (board >>> 3) & NIBBLE_LOW_BITS) == 0;
+    }
+
+    public int size() { return size; }
+    public long getTiles(int index) { return tiles[index]; }
+    public int getScore(int index) { return scores[index]; }
+    public int getGain(int index) { return gains[index]; }
+    public boolean isMoved(int index) { return moved[index]; }
+    public boolean isSupported(int index) { return supports(tiles[index]); }
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.game2048;
+
+public interface BoardEvaluator {
+    double evaluate(long tiles);
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.game2048;
+
+public final class BoardSymmetry {
+    public static final int COUNT = 8;
+    public static final int TRANSPOSE = 1;
+    public static final int FLIP_COLUMNS = 2;
+    public static final int FLIP_ROWS = 4;
+
+    private BoardSymmetry() {
+    }
+
+    public static long flipColumns(long tiles) {
+        return ((tiles & 0x000F000F000F000FL) << 12)
+                | ((tiles & 0x00F000F000F000F0L) << 4)
+                | ((tiles >>> 4) & 0x00F000F000F000F0L)
+                | ((tiles >>> 12) & 0x000F000F000F000FL);
+    }
+
+    public static long flipRows(long tiles) {
+        return (tiles << 48)
+                | ((tiles & 0x00000000FFFF0000L) << 16)
+                | ((tiles >>> 16) & 0x00000000FFFF0000L)
+                | (tiles >>> 48);
+    }
+
+    public static long rotateClockwise(long tiles) {
+        return flipColumns(BitBoard.transpose(tiles));
+    }
+
+    public static long rotateCounterClockwise(long tiles) {
+        return flipRows(BitBoard.transpose(tiles));
+    }
+
+    public static long apply(long tiles, int symmetry) {
+        if ((symmetry & TRANSPOSE) != 0) tiles = BitBoard.transpose(tiles);
+        if ((symmetry & FLIP_COLUMNS) != 0) tiles = flipColumns(tiles);
+        if ((symmetry & FLIP_ROWS) != 0) tiles = flipRows(tiles);
+        return tiles;
+    }
+
+    public static long invert(long tiles, int symmetry) {
+        if ((symmetry & FLIP_ROWS) != 0) tiles = flipRows(tiles);
+        if ((symmetry & FLIP_COLUMNS) != 0) tiles = flipColumns(tiles);
+        if ((symmetry & TRANSPOSE) != 0) tiles = BitBoard.transpose(tiles);
+        return tiles;
+    }
+
+    public static long canonical(long tiles) {
+        long transposed = BitBoard.transpose(tiles);
+        long best = min(tiles, transposed);
+        best = min(best, flipColumns(tiles));
+        best = min(best, flipColumns(transposed));
+        long flipped = flipRows(tiles);
+        long flippedTransposed = flipRows(transposed);
+        best = min(best, flipped);
+        best = min(best, flippedTransposed);
+        best = min(best, flipColumns(flipped));
+        return min(best, flipColumns(flippedTransposed));
+    }
+
+    public static int canonicalSymmetry(long tiles) {
+        int best = 0;
+        long bestTiles = tiles;
+        for (int symmetry = 1; symmetry < COUNT; symmetry++) {
+            long candidate = apply(tiles, symmetry);
+            if (Long.compareUnsigned(candidate, bestTiles) < 0) {
+                bestTiles = candidate;
+                best = symmetry;
+            }
+        }
+        return best;
+    }
+
+    private static long min(long a, long b) {
+        return Long.compareUnsigned(a, b) <= 0 ? a : b;
+    }
+
+    public static int mapCell(int cell, int symmetry) {
+        int row = cell / 4;
+        int col = cell % 4;
+        if ((symmetry & TRANSPOSE) != 0) {
+            int swap = row;
+            row = col;
+            col = swap;
+        }
+        if ((symmetry & FLIP_COLUMNS) != 0) col = 3 - col;
+        if ((symmetry & FLIP_ROWS) != 0) row = 3 - row;
+        return row * 4 + col;
+    }
+
+    public static int mapMove(int direction, int symmetry) {
+        if ((symmetry & TRANSPOSE) != 0) direction = 3 - direction;
+        if ((symmetry & FLIP_COLUMNS) != 0 && (direction & 1) != 0) direction ^= 2;
+        if ((symmetry & FLIP_ROWS) != 0 && (direction & 1) == 0) direction ^= 2;
+        return direction;
+    }
+
+    public static int unmapMove(int direction, int symmetry) {
+        if ((symmetry & FLIP_ROWS) != 0 && (direction & 1) == 0) direction ^= 2;
+        if ((symmetry & FLIP_COLUMNS) != 0 && (direction & 1) != 0) direction ^= 2;
+        if ((symmetry & TRANSPOSE) != 0) direction = 3 - direction;
+        return direction;
+    }
+
+    public static MoveDirection mapMove(MoveDirection direction, int symmetry) {
+        return MoveDirection.fromCode(mapMove(direction.getCode(), symmetry));
+    }
+
+    public static MoveDirection unmapMove(MoveDirection direction, int symmetry) {
+        return MoveDirection.fromCode(unmapMove(direction.getCode(), symmetry));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,265 @@
+package com.game2048;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
+
+public class ConcurrentBoard implements Board {
+    public static final class State {
+        private final long tiles;
+        private final long changed;
+        private final int score;
+        private final boolean gameWon;
+        private final boolean gameOver;
+        private final long version;
+        private final int cause;
+        private State previous;
+
+        State(long tiles, long changed, int score, boolean gameWon, boolean gameOver, long version,
+              int cause, State previous) {
+            this.tiles = tiles;
+            this.changed = changed;
+            this.score = score;
+            this.gameWon = gameWon;
+            this.gameOver = gameOver;
+            this.version = version;
+            this.cause = cause;
+            this.previous = previous;
+        }
+
+        public long getTiles() { return tiles; }
+        public long getChanged() { return changed; }
+        public int getScore() { return score; }
+        public boolean isGameWon() { return gameWon; }
+        public boolean isGameOver() { return gameOver; }
+        public long getVersion() { return version; }
+    }
+
+    private static final int RESET = -1;
+    private static final int SPAWN = -2;
+
+    private final AtomicReference<State> state;
+    private final AtomicInteger bestScore;
+    private final RandomGenerator random;
+
+    private volatile GameListener listener;
+    private volatile Executor listenerExecutor = Runnable::run;
+    private volatile GameEventRing events;
+    private final AtomicBoolean publishing = new AtomicBoolean();
+    private final ArrayList<State> unpublished = new ArrayList<>();
+    private volatile long publishedVersion;
+
+    public ConcurrentBoard() {
+        this(new AtomicInteger());
+    }
+
+    public ConcurrentBoard(AtomicInteger bestScore) {
+        this(bestScore, null);
+    }
+
+    public ConcurrentBoard(AtomicInteger bestScore, RandomGenerator random) {
+        this.bestScore = bestScore;
+        this.random = random;
+        state = new AtomicReference<>(initialState(null));
+    }
+
+    private RandomGenerator random() {
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    private State initialState(State current) {
+        long tiles = 0L;
+        for (int i = 0; i < GameConstants.INITIAL_TILES_COUNT; i++) {
+            tiles = BitBoard.addRandomTile(tiles, random());
+        }
+        return current == null
+                ? new State(tiles, -1L, 0, false, false, 0, RESET, null)
+                : new State(tiles, -1L, 0, false, false, current.version + 1, RESET, link(current));
+    }
+
+    private State nextState(State current, long tiles, int score, int cause) {
+        return new State(tiles, current.tiles ^ tiles, score,
+                current.gameWon || BitBoard.maxExponent(tiles) >= BitBoard.WINNING_EXPONENT,
+                !BitBoard.canMove(tiles), current.version + 1, cause, link(current));
+    }
+
+    // States only chain back to their predecessor while a ring needs their deltas.
+    private State link(State current) {
+        return events != null ? current : null;
+    }
+
+    public State snapshot() {
+        return state.get();
+    }
+
+    @Override
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    // Attach or detach the ring while no other thread is moving; publication then follows CAS order.
+    @Override
+    public void setEventRing(GameEventRing events) {
+        publishedVersion = state.get().version;
+        this.events = events;
+    }
+
+    public void setListenerExecutor(Executor listenerExecutor) {
+        this.listenerExecutor = listenerExecutor;
+    }
+
+    @Override
+    public boolean move(int direction) {
+        State current;
+        State next;
+        do {
+            current = state.get();
+            long moved = BitBoard.move(current.tiles, direction);
+            if (moved == current.tiles) return false;
+
+            long tiles = BitBoard.addRandomTile(moved, random());
+            next = nextState(current, tiles, current.score + BitBoard.moveScore(current.tiles, direction),
+                    direction);
+        } while (!state.compareAndSet(current, next));
+
+        bestScore.accumulateAndGet(next.score, Math::max);
+        publishEvents();
+        notifyListener(current, next);
+        return true;
+    }
+
+    @Override
+    public boolean addRandomTile() {
+        State current;
+        State next;
+        do {
+            current = state.get();
+            long tiles = BitBoard.addRandomTile(current.tiles, random());
+            if (tiles == current.tiles) return false;
+
+            next = nextState(current, tiles, current.score, SPAWN);
+        } while (!state.compareAndSet(current, next));
+        publishEvents();
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        State current;
+        State next;
+        do {
+            current = state.get();
+            next = initialState(current);
+        } while (!state.compareAndSet(current, next));
+        publishEvents();
+        notifyListener(null, next);
+    }
+
+    @Override
+    public void restore(long tiles, int score) {
+        State current;
+        State next;
+        do {
+            current = state.get();
+            next = new State(tiles, current.tiles ^ tiles, score,
+                    BitBoard.maxExponent(tiles) >= BitBoard.WINNING_EXPONENT, !BitBoard.canMove(tiles),
+                    current.version + 1, RESET, link(current));
+        } while (!state.compareAndSet(current, next));
+        bestScore.accumulateAndGet(score, Math::max);
+        publishEvents();
+        notifyListener(null, next);
+    }
+
+    // Movers never wait for each other: whoever holds the publishing flag publishes every state
+    // committed since the last publication, oldest first, and re-checks after releasing the flag
+    // so that states committed by movers that found it taken are not left behind.
+    private void publishEvents() {
+        GameEventRing target = events;
+        if (target == null) return;
+
+        while (state.get().version != publishedVersion && publishing.compareAndSet(false, true)) {
+            try {
+                publishPending(target);
+            } finally {
+                publishing.set(false);
+            }
+        }
+    }
+
+    private void publishPending(GameEventRing target) {
+        long published = publishedVersion;
+        State latest = state.get();
+        for (State s = latest; s != null && s.version > published; s = s.previous) {
+            unpublished.add(s);
+        }
+        for (int i = unpublished.size() - 1; i >= 0; i--) {
+            State next = unpublished.get(i);
+            if (next.previous != null) {
+                publishDelta(target, next.previous, next, next.cause);
+            } else {
+                target.publish(GameEvent.boardReset(next.score, next.gameOver, next.gameWon));
+            }
+            next.previous = null;
+        }
+        unpublished.clear();
+        target.flush();
+        publishedVersion = latest.version;
+    }
+
+    private static void publishDelta(GameEventRing target, State previous, State next, int direction) {
+        if (direction == RESET) {
+            target.publish(GameEvent.boardReset(next.score, next.gameOver, next.gameWon));
+        } else if (direction == SPAWN) {
+            BitBoard.publishSpawn(target, previous.tiles, next.tiles);
+        } else {
+            BitBoard.publishMove(target, previous.tiles, direction);
+            BitBoard.publishSpawn(target, BitBoard.move(previous.tiles, direction), next.tiles);
+            if (next.score != previous.score) {
+                target.publish(GameEvent.scoreChanged(next.score - previous.score));
+            }
+            if (next.gameWon != previous.gameWon || next.gameOver) {
+                target.publish(GameEvent.terminal(next.gameOver, next.gameWon));
+            }
+        }
+    }
+
+    private void notifyListener(State previous, State next) {
+        GameListener target = listener;
+        if (target == null) return;
+
+        listenerExecutor.execute(() -> {
+            if (previous == null) {
+                target.onScoreChanged(next.score);
+                target.onGameStateChanged(next.gameOver, next.gameWon);
+                return;
+            }
+            if (next.gameWon != previous.gameWon || next.gameOver) {
+                target.onGameStateChanged(next.gameOver, next.gameWon);
+            }
+            target.onScoreChanged(next.score);
+        });
+    }
+
+    @Override public int getRows() { return BitBoard.SIZE; }
+    @Override public int getCols() { return BitBoard.SIZE; }
+
+    @Override
+    public int getTileValue(int row, int col) {
+        int exponent = BitBoard.exponentAt(state.get().tiles, row, col);
+        return exponent == 0 ? 0 : 1 << exponent;
+    }
+
+    @Override
+    public boolean isTileChanged(int row, int col) {
+        return BitBoard.exponentAt(state.get().changed, row, col) != 0;
+    }
+
+    @Override public int getScore() { return state.get().score; }
+    @Override public int getBestScore() { return bestScore.get(); }
+    @Override public boolean isGameWon() { return state.get().gameWon; }
+    @Override public boolean isGameOver() { return state.get().gameOver; }
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.game2048;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ExpectimaxSolver {
+    public static final int DEFAULT_MAX_DEPTH = 3;
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 100;
+
+    private static final double MIN_PROBABILITY = 0.0001;
+    private static final int CACHE_BITS = 16;
+    private static final double LOST_VALUE = -200_000.0;
+    private static final int ABORTED = -2;
+
+    public static final BoardEvaluator DEFAULT_EVALUATOR = new HeuristicEvaluator();
+
+    private final int maxDepth;
+    private final long timeBudgetMillis;
+    private final BoardEvaluator evaluator;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<TranspositionTable> caches =
+            ThreadLocal.withInitial(() -> new TranspositionTable(CACHE_BITS));
+    private volatile OpeningBook book;
+
+    public static final class Result {
+        private final int move;
+        private final double value;
+
+        Result(int move, double value) {
+            this.move = move;
+            this.value = value;
+        }
+
+        public int getMove() { return move; }
+        public double getValue() { return value; }
+    }
+
+    public ExpectimaxSolver() {
+        this(DEFAULT_MAX_DEPTH, DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    public ExpectimaxSolver(int maxDepth, long timeBudgetMillis) {
+        this(maxDepth, timeBudgetMillis, DEFAULT_EVALUATOR, ForkJoinPool.commonPool());
+    }
+
+    public ExpectimaxSolver(int maxDepth, long timeBudgetMillis,
+                            BoardEvaluator evaluator, ForkJoinPool pool) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("maxDepth must be at least 1: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.evaluator = evaluator;
+        this.pool = pool;
+    }
+
+    public MoveDirection bestMove(Board board) {
+        int direction = bestMove(BitBoard.pack(board));
+        return direction < 0 ? null : MoveDirection.fromCode(direction);
+    }
+
+    public void setOpeningBook(OpeningBook book) {
+        this.book = book;
+    }
+
+    public int bestMove(long tiles) {
+        OpeningBook current = book;
+        if (current != null) {
+            int move = current.bestMove(tiles);
+            if (move >= 0 && BitBoard.move(tiles, move) != tiles) return move;
+        }
+        return solve(tiles).getMove();
+    }
+
+    public Result solve(long tiles) {
+        long deadline = timeBudgetMillis > 0
+                ? System.nanoTime() + timeBudgetMillis * 1_000_000L
+                : Long.MAX_VALUE;
+
+        int best = firstLegalMove(tiles);
+        double bestValue = best < 0 ? LOST_VALUE : Double.NaN;
+        for (int depth = 1; depth <= maxDepth && best >= 0; depth++) {
+            RootSearch search = new RootSearch(tiles, depth, deadline);
+            int result = pool.invoke(search);
+            if (result == ABORTED) break;
+            best = result;
+            bestValue = search.bestValue;
+        }
+        return new Result(best, bestValue);
+    }
+
+    private static int firstLegalMove(long tiles) {
+        for (int direction = 0; direction < 4; direction++) {
+            if (BitBoard.move(tiles, direction) != tiles) return direction;
+        }
+        return -1;
+    }
+
+    private class RootSearch extends RecursiveTask<Integer> {
+        private final long tiles;
+        private final int depth;
+        private final long deadline;
+        private double bestValue = Double.NEGATIVE_INFINITY;
+
+        RootSearch(long tiles, int depth, long deadline) {
+            this.tiles = tiles;
+            this.depth = depth;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Integer compute() {
+            MoveSearch[] searches = new MoveSearch[4];
+            for (int direction = 0; direction < 4; direction++) {
+                searches[direction] = new MoveSearch(tiles, direction, depth, deadline);
+            }
+            invokeAll(searches);
+
+            int best = -1;
+            for (int direction = 0; direction < 4; direction++) {
+                MoveSearch search = searches[direction];
+                if (search.aborted) return ABORTED;
+                if (search.legal && search.value > bestValue) {
+                    bestValue = search.value;
+                    best = direction;
+                }
+            }
+            return best;
+        }
+    }
+
+    private class MoveSearch extends RecursiveTask<Void> {
+        private final long tiles;
+        private final int direction;
+        private final int depth;
+        private final long deadline;
+
+        private TranspositionTable cache;
+        private boolean legal;
+        private boolean aborted;
+        private double value;
+        private int nodes;
+
+        MoveSearch(long tiles, int direction, int depth, long deadline) {
+            this.tiles = tiles;
+            this.direction = direction;
+            this.depth = depth;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Void compute() {
+            long next = BitBoard.move(tiles, direction);
+            legal = next != tiles;
+            if (!legal) return null;
+
+            cache = caches.get();
+            try {
+                value = BitBoard.moveScore(tiles, direction) + chance(next, depth - 1, 1.0);
+            } catch (SearchTimeout e) {
+                aborted = true;
+            }
+            return null;
+        }
+
+        private double chance(long tiles, int depth, double probability) {
+            if (depth <= 0 || probability < MIN_PROBABILITY) {
+                return evaluator.evaluate(tiles);
+            }
+            if (cache.contains(tiles, depth)) {
+                return cache.get(tiles);
+            }
+            if ((++nodes & 0x3FF) == 0 && System.nanoTime() > deadline) {
+                throw SearchTimeout.INSTANCE;
+            }
+
+            int empty = BitBoard.countEmpty(tiles);
+            double cellProbability = probability / empty;
+            double sum = 0;
+
+            for (int i = 0; i < 16; i++) {
+                if (((tiles >>> (i * 4)) & 0xF) != 0) continue;
+
+                sum += 0.9 * max(tiles | (1L << (i * 4)), depth, cellProbability * 0.9);
+                sum += 0.1 * max(tiles | (2L << (i * 4)), depth, cellProbability * 0.1);
+            }
+
+            double result = sum / empty;
+            cache.put(tiles, depth, result);
+            return result;
+        }
+
+        private double max(long tiles, int depth, double probability) {
+            double best = Double.NEGATIVE_INFINITY;
+            for (int direction = 0; direction < 4; direction++) {
+                long next = BitBoard.move(tiles, direction);
+                if (next == tiles) continue;
+
+                double value = BitBoard.moveScore(tiles, direction)
+                        + chance(next, depth - 1, probability);
+                if (value > best) best = value;
+            }
+            return best == Double.NEGATIVE_INFINITY ? LOST_VALUE : best;
+        }
+    }
+
+    private static final class SearchTimeout extends RuntimeException {
+        static final SearchTimeout INSTANCE = new SearchTimeout();
+
+        private SearchTimeout() {
+            super(null, null, false, false);
+        }
+    }
+}
\ No newline at end of file
@@ -1,22 +1,67 @@
 package com.game2048;
 
 import javax.swing.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Files;
 
 public class Game {
     private JFrame frame;
     private final GamePanel panel;
-    private final GameBoard board;
+    private final Board board;
+    private final ScoreStore store;
     private boolean paused = false;
 
     public Game() {
-        board = new GameBoard();
-        panel = new GamePanel(board, this);
+        this(new GameBoard());
+    }
+
+    public Game(Board board) {
+        this.board = board;
+        store = openStore();
+        panel = new GamePanel(board, this, store);
+        panel.setOpeningBook(openBook());
         setupFrame();
     }
 
+    private static ScoreStore openStore() {
+        try {
+            ScoreStore store = ScoreStore.open(ScoreStore.DEFAULT_PATH);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    System.err.println("Could not close score store: " + e);
+                }
+            }));
+            return store;
+        } catch (IOException e) {
+            System.err.println("Scores will not be saved: " + e);
+            return null;
+        }
+    }
+
+    private static OpeningBook openBook() {
+        if (!Files.exists(OpeningBook.DEFAULT_PATH)) return null;
+
+        try {
+            return OpeningBook.open(OpeningBook.DEFAULT_PATH);
+        } catch (IOException e) {
+            System.err.println("Opening book not loaded: " + e);
+            return null;
+        }
+    }
+
     private void setupFrame() {
         frame = new JFrame("2048");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                panel.shutdown();
+            }
+        });
         frame.add(panel);
         frame.pack();
         frame.setResizable(false);
@@ -34,13 +79,29 @@ public class Game {
     }
 
     public void restart() {
+        panel.finishGame();
         board.reset();
         panel.reset();
     }
 
     public static void main(String[] args) {
+        if (GameMetrics.ENABLED) {
+            GameMetrics.start();
+        }
         SwingUtilities.invokeLater(() -> {
-            Game game = new Game();
+            Game game;
+            if (args.length > 0 && args[0].equals("--bitboard")) {
+                game = new Game(new BitBoard());
+            } else if (args.length > 0 && args[0].equals("--concurrent")) {
+                game = new Game(new ConcurrentBoard());
+            } else if (args.length > 1 && args[0].equals("--size")) {
+                String[] size = args[1].split("x");
+                int rows = Integer.parseInt(size[0]);
+                int cols = size.length > 1 ? Integer.parseInt(size[1]) : rows;
+                game = new Game(new GameBoard(rows, cols));
+            } else {
+                game = new Game();
+            }
             game.start();
         });
     }
@@ -1,31 +1,78 @@
 package com.game2048;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Random;
-
-public class GameBoard {
-    private Tile[][] board;
+import java.util.random.RandomGenerator;
+
+public class GameBoard implements Board {
+    private static final int WINNING_EXPONENT = Integer.numberOfTrailingZeros(GameConstants.WINNING_VALUE);
+
+    private final int rows;
+    private final int cols;
+    private final byte[] cells;
+    private final long[] emptyCells;
+    private final long[] changedCells;
+    private int emptyCount;
+    private int maxExponent;
+    private final boolean[] rowDirty;
+    private final boolean[] colDirty;
+    private final boolean[] rowMergeable;
+    private final boolean[] colMergeable;
+    private int mergeableLines;
+    private boolean linesDirty;
     private int score;
     private int bestScore;
     private boolean gameWon;
     private boolean gameOver;
-    private final Random random;
+    private final SpawnSource spawnRoot;
+    private SpawnSource spawns;
 
     private GameListener listener;
-
-    public interface GameListener {
-        void onScoreChanged(int score);
-        void onGameStateChanged(boolean gameOver, boolean gameWon);
-    }
+    private GameEventRing events;
 
     public void setListener(GameListener listener) {
         this.listener = listener;
     }
 
+    public void setEventRing(GameEventRing events) {
+        this.events = events;
+    }
+
     public GameBoard() {
-        board = new Tile[GameConstants.BOARD_SIZE][GameConstants.BOARD_SIZE];
-        random = new Random();
+        this(new Random());
+    }
+
+    public GameBoard(RandomGenerator random) {
+        this(GameConstants.BOARD_SIZE, GameConstants.BOARD_SIZE, random);
+    }
+
+    public GameBoard(SpawnSource spawns) {
+        this(GameConstants.BOARD_SIZE, GameConstants.BOARD_SIZE, spawns);
+    }
+
+    public GameBoard(int rows, int cols) {
+        this(rows, cols, new Random());
+    }
+
+    public GameBoard(int rows, int cols, RandomGenerator random) {
+        this(rows, cols, SpawnSource.of(random));
+    }
+
+    public GameBoard(int rows, int cols, SpawnSource spawns) {
+        if (rows < 2 || cols < 2) {
+            throw new IllegalArgumentException("Board must be at least 2x2: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        cells = new byte[rows * cols];
+        emptyCells = new long[(cells.length + 63) / 64];
+        changedCells = new long[emptyCells.length];
+        rowDirty = new boolean[rows];
+        colDirty = new boolean[cols];
+        rowMergeable = new boolean[rows];
+        colMergeable = new boolean[cols];
+        spawnRoot = spawns;
+        this.spawns = spawns.nextGame();
         score = 0;
         bestScore = 0;
         gameWon = false;
@@ -33,42 +80,107 @@ public class GameBoard {
 
         initializeBoard();
         for (int i = 0; i < GameConstants.INITIAL_TILES_COUNT; i++) {
-            addRandomTile();
+            spawnTile();
         }
     }
 
     private void initializeBoard() {
-        for (int row = 0; row < GameConstants.BOARD_SIZE; row++) {
-            for (int col = 0; col < GameConstants.BOARD_SIZE; col++) {
-                board[row][col] = Tile.createEmpty(row, col);
-            }
+        Arrays.fill(cells, (byte) 0);
+        Arrays.fill(emptyCells, -1L);
+        int tail = cells.length % 64;
+        if (tail != 0) {
+            emptyCells[emptyCells.length - 1] = (1L << tail) - 1;
         }
+        System.arraycopy(emptyCells, 0, changedCells, 0, emptyCells.length);
+        emptyCount = cells.length;
+        maxExponent = 0;
+
+        Arrays.fill(rowDirty, true);
+        Arrays.fill(colDirty, true);
+        Arrays.fill(rowMergeable, false);
+        Arrays.fill(colMergeable, false);
+        mergeableLines = 0;
+        linesDirty = true;
     }
 
     public boolean addRandomTile() {
-        List<int[]> emptyCells = new ArrayList<>();
+        boolean added = spawnTile();
+        if (events != null) events.flush();
+        return added;
+    }
 
-        for (int row = 0; row < GameConstants.BOARD_SIZE; row++) {
-            for (int col = 0; col < GameConstants.BOARD_SIZE; col++) {
-                if (board[row][col].isEmpty()) {
-                    emptyCells.add(new int[]{row, col});
-                }
+    private boolean spawnTile() {
+        if (emptyCount == 0) return false;
+
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0L;
+        int cell = selectEmpty(spawns.selectEmpty(emptyCount));
+        int exponent = spawns.selectExponent();
+
+        setExponent(cell, exponent);
+        if (events != null) {
+            events.publish(GameEvent.tileSpawned(cell, exponent));
+        }
+        if (GameMetrics.ENABLED) {
+            GameMetrics.recordSpawn(exponent, System.nanoTime() - start);
+        }
+        return true;
+    }
+
+    private int selectEmpty(int index) {
+        for (int w = 0; w < emptyCells.length; w++) {
+            long word = emptyCells[w];
+            int count = Long.bitCount(word);
+            if (index >= count) {
+                index -= count;
+                continue;
+            }
+            for (int i = 0; i < index; i++) {
+                word &= word - 1;
             }
+            return w * 64 + Long.numberOfTrailingZeros(word);
         }
+        throw new IllegalStateException("No empty cell at index " + index);
+    }
 
-        if (emptyCells.isEmpty()) return false;
+    public void setTile(int row, int col, int value) {
+        int cell = row * cols + col;
+        int previous = cells[cell];
+        int exponent = value == 0 ? 0 : Integer.numberOfTrailingZeros(value);
+        setExponent(cell, exponent);
+        if (previous == maxExponent && exponent < previous) {
+            maxExponent = 0;
+            for (byte current : cells) {
+                if (current > maxExponent) maxExponent = current;
+            }
+        }
+    }
 
-        int[] cell = emptyCells.get(random.nextInt(emptyCells.size()));
-        int row = cell[0];
-        int col = cell[1];
-        int value = random.nextInt(10) < 9 ? 2 : 4;
+    private void setExponent(int cell, int exponent) {
+        int previous = cells[cell];
+        if (previous == exponent) return;
+
+        cells[cell] = (byte) exponent;
+        long bit = 1L << cell;
+        changedCells[cell >>> 6] |= bit;
+        if (exponent == 0) {
+            emptyCells[cell >>> 6] |= bit;
+            emptyCount++;
+        } else {
+            emptyCells[cell >>> 6] &= ~bit;
+            if (previous == 0) emptyCount--;
+            if (exponent > maxExponent) maxExponent = exponent;
+        }
 
-        board[row][col] = Tile.createWithValue(value, row, col);
-        return true;
+        rowDirty[cell / cols] = true;
+        colDirty[cell % cols] = true;
+        linesDirty = true;
     }
 
     public boolean move(int direction) {
-        resetMergeFlags();
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0L;
+        int emptyBefore = GameMetrics.ENABLED ? emptyCount : 0;
+        int scoreBefore = score;
+        Arrays.fill(changedCells, 0L);
         boolean moved = false;
 
         switch (direction) {
@@ -79,12 +191,21 @@ public class GameBoard {
         }
 
         if (moved) {
-            addRandomTile();
+            spawnTile();
+            if (events != null && score != scoreBefore) {
+                events.publish(GameEvent.scoreChanged(score - scoreBefore));
+            }
             checkGameWon();
             checkGameOver();
+            if (GameMetrics.ENABLED) {
+                GameMetrics.recordMove(System.nanoTime() - start, emptyCount + 1 - emptyBefore);
+            }
             if (listener != null) {
                 listener.onScoreChanged(score);
             }
+            if (events != null) {
+                events.flush();
+            }
         }
 
         return moved;
@@ -108,164 +229,232 @@ public class GameBoard {
 
     private boolean moveTiles(boolean isVertical, boolean isForward) {
         boolean moved = false;
-        int size = GameConstants.BOARD_SIZE;
+        int lines = isVertical ? cols : rows;
+        int length = isVertical ? rows : cols;
+        int stride = isVertical ? cols : 1;
+
+        for (int i = 0; i < lines; i++) {
+            int first = isVertical ? i : i * cols;
+            int step = stride;
+            if (!isForward) {
+                first += (length - 1) * stride;
+                step = -stride;
+            }
 
-        for (int i = 0; i < size; i++) {
-            List<Tile> tiles = new ArrayList<>();
+            if (length == 4 ? slidePacked(first, step) : slideLine(first, step, length)) {
+                moved = true;
+            }
+        }
 
-            for (int j = 0; j < size; j++) {
-                int row = isVertical ? j : i;
-                int col = isVertical ? i : j;
-                if (!isForward) {
-                    row = isVertical ? size - 1 - j : i;
-                    col = isVertical ? i : size - 1 - j;
-                }
+        if (score > bestScore) bestScore = score;
+        return moved;
+    }
 
-                if (!board[row][col].isEmpty()) {
-                    tiles.add(board[row][col]);
-                }
+    private boolean slidePacked(int first, int step) {
+        int line = 0;
+        for (int j = 0; j < 4; j++) {
+            int exponent = cells[first + j * step];
+            if (exponent >= RowTables.MAX_EXPONENT) {
+                return slideLine(first, step, 4);
             }
+            line |= exponent << (j * 4);
+        }
 
-            List<Tile> merged = mergeTiles(tiles, i, isVertical, isForward);
+        if (!RowTables.changesLeft(line)) return false;
 
-            for (int j = 0; j < size; j++) {
-                int row = isVertical ? j : i;
-                int col = isVertical ? i : j;
-                if (!isForward) {
-                    row = isVertical ? size - 1 - j : i;
-                    col = isVertical ? i : size - 1 - j;
-                }
+        if (events != null) {
+            BitBoard.publishLine(events, line, first, step);
+        }
+        int result = RowTables.LEFT[line];
+        score += RowTables.SCORE[line];
+        for (int j = 0; j < 4; j++) {
+            setExponent(first + j * step, (result >>> (j * 4)) & 0xF);
+        }
+        return true;
+    }
 
-                if (j < merged.size()) {
-                    Tile tile = merged.get(j);
-                    if (board[row][col].getValue() != tile.getValue() ||
-                            board[row][col].isEmpty() != tile.isEmpty()) {
-                        moved = true;
-                    }
-                    board[row][col] = tile;
-                    tile.setRow(row);
-                    tile.setCol(col);
-                } else {
-                    if (!board[row][col].isEmpty()) {
-                        moved = true;
-                    }
-                    board[row][col] = Tile.createEmpty(row, col);
+    private boolean slideLine(int first, int step, int length) {
+        boolean moved = false;
+        int target = first;
+        int pending = 0;
+        int pendingCell = 0;
+
+        for (int j = 0; j < length; j++) {
+            int cell = first + j * step;
+            int exponent = cells[cell];
+            if (exponent == 0) continue;
+
+            if (pending == 0) {
+                pending = exponent;
+                pendingCell = cell;
+            } else if (pending == exponent) {
+                publishMoved(pendingCell, target, pending);
+                if (events != null) {
+                    events.publish(GameEvent.tilesMerged(cell, target, exponent + 1));
                 }
+                moved |= place(target, exponent + 1);
+                score += 1 << (exponent + 1);
+                target += step;
+                pending = 0;
+            } else {
+                publishMoved(pendingCell, target, pending);
+                moved |= place(target, pending);
+                target += step;
+                pending = exponent;
+                pendingCell = cell;
             }
         }
+        if (pending != 0) {
+            publishMoved(pendingCell, target, pending);
+            moved |= place(target, pending);
+            target += step;
+        }
 
+        for (int end = first + length * step; target != end; target += step) {
+            moved |= place(target, 0);
+        }
         return moved;
     }
 
-    private List<Tile> mergeTiles(List<Tile> tiles, int lineIndex, boolean isVertical, boolean isForward) {
-        List<Tile> result = new ArrayList<>();
-
-        if (tiles.isEmpty()) {
-            return result;
+    private void publishMoved(int from, int to, int exponent) {
+        if (events != null && from != to) {
+            events.publish(GameEvent.tileMoved(from, to, exponent));
         }
+    }
 
-        List<Tile> tempTiles = new ArrayList<>();
-        for (Tile tile : tiles) {
-            tempTiles.add(Tile.createWithValue(tile.getValue(), tile.getRow(), tile.getCol()));
-        }
+    private boolean place(int cell, int exponent) {
+        if (cells[cell] == exponent) return false;
 
-        for (int i = 0; i < tempTiles.size(); i++) {
-            Tile current = tempTiles.get(i);
+        setExponent(cell, exponent);
+        return true;
+    }
 
-            if (i < tempTiles.size() - 1) {
-                Tile next = tempTiles.get(i + 1);
+    private void checkGameWon() {
+        if (gameWon) return;
 
-                if (current.getValue() == next.getValue() && !current.isMerged() && !next.isMerged()) {
-                    Tile mergedTile = Tile.createWithValue(current.getValue() * 2,
-                            current.getRow(), current.getCol());
-                    mergedTile.setMerged(true);
-                    score += mergedTile.getValue();
-                    if (score > bestScore) bestScore = score;
-                    result.add(mergedTile);
-                    i++;
-                } else {
-                    result.add(current);
-                }
-            } else {
-                result.add(current);
+        if (maxExponent >= WINNING_EXPONENT) {
+            gameWon = true;
+            if (events != null) {
+                events.publish(GameEvent.terminal(gameOver, gameWon));
+            }
+            if (listener != null) {
+                listener.onGameStateChanged(gameOver, gameWon);
             }
         }
-
-        return result;
     }
 
-    private void resetMergeFlags() {
-        for (Tile[] row : board) {
-            for (Tile tile : row) {
-                tile.resetMergeFlag();
-            }
+    void checkGameOver() {
+        gameOver = isLocked();
+        if (gameOver && events != null) {
+            events.publish(GameEvent.terminal(gameOver, gameWon));
+        }
+        if (gameOver && listener != null) {
+            listener.onGameStateChanged(gameOver, gameWon);
         }
     }
 
-    private void checkGameWon() {
-        if (gameWon) return;
+    private boolean isLocked() {
+        if (emptyCount != 0) return false;
 
-        for (Tile[] row : board) {
-            for (Tile tile : row) {
-                if (tile.getValue() >= GameConstants.WINNING_VALUE) {
-                    gameWon = true;
-                    if (listener != null) {
-                        listener.onGameStateChanged(gameOver, gameWon);
-                    }
-                    return;
-                }
-            }
+        if (linesDirty) {
+            refreshMergeableLines();
         }
+        return mergeableLines == 0;
     }
 
-    private void checkGameOver() {
-        for (Tile[] row : board) {
-            for (Tile tile : row) {
-                if (tile.isEmpty()) {
-                    gameOver = false;
-                    return;
-                }
-            }
+    private void refreshMergeableLines() {
+        for (int row = 0; row < rows; row++) {
+            if (!rowDirty[row]) continue;
+
+            rowDirty[row] = false;
+            updateMergeable(rowMergeable, row, hasAdjacentPair(row * cols, 1, cols));
         }
+        for (int col = 0; col < cols; col++) {
+            if (!colDirty[col]) continue;
 
-        int size = GameConstants.BOARD_SIZE;
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                int current = board[i][j].getValue();
-                if (j < size - 1 && current == board[i][j + 1].getValue()) {
-                    gameOver = false;
-                    return;
-                }
-                if (i < size - 1 && current == board[i + 1][j].getValue()) {
-                    gameOver = false;
-                    return;
-                }
-            }
+            colDirty[col] = false;
+            updateMergeable(colMergeable, col, hasAdjacentPair(col, cols, rows));
         }
+        linesDirty = false;
+    }
 
-        gameOver = true;
-        if (listener != null) {
-            listener.onGameStateChanged(gameOver, gameWon);
+    private void updateMergeable(boolean[] mergeable, int line, boolean value) {
+        if (mergeable[line] == value) return;
+
+        mergeable[line] = value;
+        mergeableLines += value ? 1 : -1;
+    }
+
+    private boolean hasAdjacentPair(int first, int step, int length) {
+        int end = first + (length - 1) * step;
+        for (int cell = first; cell != end; cell += step) {
+            if (cells[cell] == cells[cell + step]) return true;
         }
+        return false;
     }
 
     public void reset() {
         score = 0;
         gameWon = false;
         gameOver = false;
+        spawns = spawnRoot.nextGame();
         initializeBoard();
+        if (events != null) {
+            events.publish(GameEvent.boardReset(score, gameOver, gameWon));
+        }
 
         for (int i = 0; i < GameConstants.INITIAL_TILES_COUNT; i++) {
-            addRandomTile();
+            spawnTile();
         }
 
+        if (events != null) {
+            events.flush();
+        }
         if (listener != null) {
             listener.onScoreChanged(score);
             listener.onGameStateChanged(gameOver, gameWon);
         }
     }
 
-    public Tile[][] getBoard() { return board; }
+    public void restore(long tiles, int score) {
+        if (rows != BitBoard.SIZE || cols != BitBoard.SIZE) {
+            throw new IllegalStateException("Packed snapshots only fit " + BitBoard.SIZE + "x"
+                    + BitBoard.SIZE + " boards: " + rows + "x" + cols);
+        }
+
+        Arrays.fill(changedCells, 0L);
+        maxExponent = 0;
+        for (int cell = 0; cell < cells.length; cell++) {
+            int exponent = (int) ((tiles >>> (cell * 4)) & 0xF);
+            setExponent(cell, exponent);
+            if (exponent > maxExponent) maxExponent = exponent;
+        }
+
+        this.score = score;
+        if (score > bestScore) bestScore = score;
+        gameWon = maxExponent >= WINNING_EXPONENT;
+        gameOver = isLocked();
+
+        if (events != null) {
+            events.publish(GameEvent.boardReset(score, gameOver, gameWon));
+            events.flush();
+        }
+        if (listener != null) {
+            listener.onScoreChanged(score);
+            listener.onGameStateChanged(gameOver, gameWon);
+        }
+    }
+
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public int getTileValue(int row, int col) {
+        int exponent = cells[row * cols + col];
+        return exponent == 0 ? 0 : 1 << exponent;
+    }
+    public boolean isTileChanged(int row, int col) {
+        int cell = row * cols + col;
+        return (changedCells[cell >>> 6] & (1L << cell)) != 0;
+    }
     public int getScore() { return score; }
     public int getBestScore() { return bestScore; }
     public boolean isGameWon() { return gameWon; }
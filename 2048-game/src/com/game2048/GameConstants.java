@@ -1,6 +1,7 @@
 package com.game2048;
 
 import java.awt.Color;
+import java.awt.Font;
 
 public class GameConstants {
     public static final int BOARD_SIZE = 4;
@@ -38,6 +39,11 @@ public class GameConstants {
     public static final Color BACKGROUND_COLOR = new Color(250, 248, 239);
     public static final Color BOARD_COLOR = new Color(187, 173, 160);
     public static final Color INFO_PANEL_COLOR = new Color(187, 173, 160, 100);
+    public static final Color OVERLAY_COLOR = new Color(0, 0, 0, 150);
+
+    public static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 28);
+    public static final Font STATUS_FONT = new Font("Arial", Font.BOLD, 36);
+    public static final Font TEXT_FONT = new Font("Arial", Font.PLAIN, 16);
 
     public static final int WINNING_VALUE = 2048;
     public static final int INITIAL_TILES_COUNT = 2;
@@ -0,0 +1,70 @@
+package com.game2048;
+
+public final class GameEvent {
+    public static final int TILE_MOVED = 1;
+    public static final int TILES_MERGED = 2;
+    public static final int TILE_SPAWNED = 3;
+    public static final int SCORE_CHANGED = 4;
+    public static final int TERMINAL = 5;
+    public static final int BOARD_RESET = 6;
+
+    private static final int FLAG_GAME_OVER = 1;
+    private static final int FLAG_GAME_WON = 2;
+
+    private GameEvent() {
+    }
+
+    public static long tileMoved(int from, int to, int exponent) {
+        return tile(TILE_MOVED, from, to, exponent);
+    }
+
+    public static long tilesMerged(int from, int to, int exponent) {
+        return tile(TILES_MERGED, from, to, exponent);
+    }
+
+    public static long tileSpawned(int cell, int exponent) {
+        return tile(TILE_SPAWNED, cell, cell, exponent);
+    }
+
+    public static long scoreChanged(int delta) {
+        return (long) SCORE_CHANGED << 56 | (delta & 0xFFFFFFFFL);
+    }
+
+    public static long terminal(boolean gameOver, boolean gameWon) {
+        return (long) TERMINAL << 56 | (long) flags(gameOver, gameWon) << 32;
+    }
+
+    public static long boardReset(int score, boolean gameOver, boolean gameWon) {
+        return (long) BOARD_RESET << 56 | (long) flags(gameOver, gameWon) << 32 | (score & 0xFFFFFFFFL);
+    }
+
+    private static long tile(int type, int from, int to, int exponent) {
+        return (long) type << 56 | (long) (from & 0xFFFF) << 40 | (long) (to & 0xFFFF) << 24
+                | (exponent & 0xFF) << 16;
+    }
+
+    private static int flags(boolean gameOver, boolean gameWon) {
+        return (gameOver ? FLAG_GAME_OVER : 0) | (gameWon ? FLAG_GAME_WON : 0);
+    }
+
+    public static int type(long event) { return (int) (event >>> 56); }
+    public static int from(long event) { return (int) (event >>> 40) & 0xFFFF; }
+    public static int to(long event) { return (int) (event >>> 24) & 0xFFFF; }
+    public static int exponent(long event) { return (int) (event >>> 16) & 0xFF; }
+    public static int value(long event) { return (int) event; }
+    public static boolean isGameOver(long event) { return ((event >>> 32) & FLAG_GAME_OVER) != 0; }
+    public static boolean isGameWon(long event) { return ((event >>> 32) & FLAG_GAME_WON) != 0; }
+
+    public static String toString(long event) {
+        switch (type(event)) {
+            case TILE_MOVED: return "moved " + from(event) + "->" + to(event) + " e" + exponent(event);
+            case TILES_MERGED: return "merged " + from(event) + "->" + to(event) + " e" + exponent(event);
+            case TILE_SPAWNED: return "spawned " + to(event) + " e" + exponent(event);
+            case SCORE_CHANGED: return "score +" + value(event);
+            case TERMINAL: return "terminal over=" + isGameOver(event) + " won=" + isGameWon(event);
+            case BOARD_RESET: return "reset score=" + value(event) + " over=" + isGameOver(event)
+                    + " won=" + isGameWon(event);
+            default: return "unknown " + Long.toHexString(event);
+        }
+    }
+}
\ No newline at end of file
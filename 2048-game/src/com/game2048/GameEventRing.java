@@ -0,0 +1,83 @@
+package com.game2048;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class GameEventRing {
+    public interface Handler {
+        void onEvent(long event, boolean endOfBatch);
+    }
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private long next;
+
+    public GameEventRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        slots = new AtomicLongArray(capacity);
+        mask = capacity - 1;
+    }
+
+    public void publish(long event) {
+        long sequence = next++;
+        claimed.setOpaque(next);
+        VarHandle.storeStoreFence();
+        slots.setOpaque((int) sequence & mask, event);
+    }
+
+    public void flush() {
+        published.setRelease(next);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public Consumer newConsumer(int maxBatch) {
+        return new Consumer(maxBatch);
+    }
+
+    public final class Consumer {
+        private final long[] batch;
+        private long sequence;
+        private long lost;
+
+        Consumer(int maxBatch) {
+            if (maxBatch < 1) {
+                throw new IllegalArgumentException("maxBatch must be at least 1: " + maxBatch);
+            }
+            batch = new long[maxBatch];
+            sequence = published.getAcquire();
+        }
+
+        public int poll(Handler handler) {
+            long available = published.getAcquire();
+            if (available == sequence) return 0;
+
+            long start = Math.max(sequence, available - capacity());
+            long end = Math.min(available, start + batch.length);
+            for (long s = start; s < end; s++) {
+                batch[(int) (s - start)] = slots.getOpaque((int) s & mask);
+            }
+            VarHandle.loadLoadFence();
+            long valid = Math.max(start, claimed.getOpaque() - capacity());
+
+            long consumed = end - sequence;
+            lost += Math.min(valid, end) - sequence;
+            sequence = end;
+            for (long s = valid; s < end; s++) {
+                handler.onEvent(batch[(int) (s - start)], s == end - 1);
+            }
+            return (int) consumed;
+        }
+
+        public long getLost() {
+            return lost;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.game2048;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class GameMetrics implements GameMetricsMXBean {
+    public static final boolean ENABLED = Boolean.getBoolean("game2048.metrics");
+    public static final String OBJECT_NAME = "com.game2048:type=GameMetrics";
+
+    private static final GameMetrics INSTANCE = new GameMetrics();
+
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder merges = new LongAdder();
+    private final LongAdder spawnsOfTwo = new LongAdder();
+    private final LongAdder spawnsOfFour = new LongAdder();
+    private final LatencyHistogram moveLatency = new LatencyHistogram();
+    private final LatencyHistogram spawnLatency = new LatencyHistogram();
+    private final LatencyHistogram paintTime = new LatencyHistogram();
+
+    private long lastDumpNanos = System.nanoTime();
+    private long lastDumpMoves;
+    private boolean started;
+
+    private GameMetrics() {
+    }
+
+    public static GameMetrics get() {
+        return INSTANCE;
+    }
+
+    public static void recordMove(long nanos, int mergeCount) {
+        INSTANCE.moves.increment();
+        if (mergeCount > 0) {
+            INSTANCE.merges.add(mergeCount);
+        }
+        INSTANCE.moveLatency.record(nanos);
+    }
+
+    public static void recordSpawn(int exponent, long nanos) {
+        (exponent == 1 ? INSTANCE.spawnsOfTwo : INSTANCE.spawnsOfFour).increment();
+        INSTANCE.spawnLatency.record(nanos);
+    }
+
+    public static void recordSpawn(long before, long after, long nanos) {
+        int cell = Long.numberOfTrailingZeros(before ^ after) >>> 2;
+        recordSpawn((int) ((after >>> (cell * 4)) & 0xF), nanos);
+    }
+
+    public static void recordPaint(long nanos) {
+        INSTANCE.paintTime.record(nanos);
+    }
+
+    public static synchronized void start() {
+        if (INSTANCE.started) return;
+        INSTANCE.started = true;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+
+        long interval = Long.getLong("game2048.metrics.interval", 10);
+        if (interval > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "metrics-dump");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(() -> System.out.println(INSTANCE.dump()),
+                    interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override public long getMoves() { return moves.sum(); }
+    @Override public long getMerges() { return merges.sum(); }
+    @Override public long getSpawnsOfTwo() { return spawnsOfTwo.sum(); }
+    @Override public long getSpawnsOfFour() { return spawnsOfFour.sum(); }
+    @Override public long getFrames() { return paintTime.getCount(); }
+
+    @Override public long getMoveLatencyP50Nanos() { return moveLatency.getValueAtPercentile(50); }
+    @Override public long getMoveLatencyP99Nanos() { return moveLatency.getValueAtPercentile(99); }
+    @Override public long getMoveLatencyMaxNanos() { return moveLatency.getMax(); }
+    @Override public long getSpawnLatencyP99Nanos() { return spawnLatency.getValueAtPercentile(99); }
+    @Override public long getPaintTimeP50Nanos() { return paintTime.getValueAtPercentile(50); }
+    @Override public long getPaintTimeP99Nanos() { return paintTime.getValueAtPercentile(99); }
+    @Override public long getPaintTimeMaxNanos() { return paintTime.getMax(); }
+
+    @Override
+    public synchronized String dump() {
+        long now = System.nanoTime();
+        long totalMoves = moves.sum();
+        double seconds = (now - lastDumpNanos) / 1e9;
+        double movesPerSecond = seconds > 0 ? (totalMoves - lastDumpMoves) / seconds : 0;
+        lastDumpNanos = now;
+        lastDumpMoves = totalMoves;
+
+        return String.format("[metrics] moves=%d moves/s=%.0f merges=%d spawns2=%d spawns4=%d%n"
+                        + "  move ns:  %s%n"
+                        + "  spawn ns: %s%n"
+                        + "  paint ns: %s",
+                totalMoves, movesPerSecond, merges.sum(), spawnsOfTwo.sum(), spawnsOfFour.sum(),
+                moveLatency, spawnLatency, paintTime);
+    }
+
+    @Override
+    public synchronized void reset() {
+        moves.reset();
+        merges.reset();
+        spawnsOfTwo.reset();
+        spawnsOfFour.reset();
+        moveLatency.reset();
+        spawnLatency.reset();
+        paintTime.reset();
+        lastDumpNanos = System.nanoTime();
+        lastDumpMoves = 0;
+    }
+}
\ No newline at end of file
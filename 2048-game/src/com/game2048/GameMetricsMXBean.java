@@ -0,0 +1,20 @@
+package com.game2048;
+
+public interface GameMetricsMXBean {
+    long getMoves();
+    long getMerges();
+    long getSpawnsOfTwo();
+    long getSpawnsOfFour();
+    long getFrames();
+
+    long getMoveLatencyP50Nanos();
+    long getMoveLatencyP99Nanos();
+    long getMoveLatencyMaxNanos();
+    long getSpawnLatencyP99Nanos();
+    long getPaintTimeP50Nanos();
+    long getPaintTimeP99Nanos();
+    long getPaintTimeMaxNanos();
+
+    String dump();
+    void reset();
+}
\ No newline at end of file
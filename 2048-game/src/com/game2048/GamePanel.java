@@ -5,29 +5,50 @@ import java.awt.*;
 import java.awt.event.KeyEvent;
 
 public class GamePanel extends JPanel {
-    private final GameBoard board;
+    private static final int INFO_X = GameConstants.PANEL_PADDING * 2 + GameConstants.GAME_PANEL_SIZE;
+    private static final Rectangle INFO_AREA = new Rectangle(INFO_X, GameConstants.PANEL_PADDING,
+            GameConstants.INFO_PANEL_WIDTH, GameConstants.GAME_PANEL_SIZE);
+    private static final Rectangle SCORE_AREA = new Rectangle(INFO_X, GameConstants.PANEL_PADDING + 75,
+            GameConstants.INFO_PANEL_WIDTH, 65);
+    private static final Rectangle HINT_AREA = new Rectangle(INFO_X, GameConstants.PANEL_PADDING + 360,
+            GameConstants.INFO_PANEL_WIDTH, 30);
+
+    private final Board board;
     private final Game game;
+    private final int tileSize;
+    private final TileSprites sprites;
     private boolean paused = false;
     private boolean gameOver = false;
     private boolean gameWon = false;
 
-    public GamePanel(GameBoard board, Game game) {
+    private final ExpectimaxSolver solver = new ExpectimaxSolver();
+    private final MoveAdvisor advisor = new MoveAdvisor(solver);
+    private final Timer autoplayTimer = new Timer(100, e -> autoplayStep());
+    private MoveDirection hint;
+    private final MoveHistory history = new MoveHistory();
+    private final GameEventRing events = new GameEventRing(1 << 10);
+    private final GameEventRing.Consumer eventConsumer = events.newConsumer(64);
+    private long eventsLost;
+
+    private final ScoreStore store;
+    private int moves;
+    private long gameStart = System.nanoTime();
+    private boolean recorded;
+
+    public GamePanel(Board board, Game game) {
+        this(board, game, null);
+    }
+
+    public GamePanel(Board board, Game game, ScoreStore store) {
         this.board = board;
         this.game = game;
+        this.store = store;
 
-        board.setListener(new GameBoard.GameListener() {
-            @Override
-            public void onScoreChanged(int score) {
-                repaint();
-            }
+        int cells = Math.max(board.getRows(), board.getCols());
+        tileSize = (GameConstants.GAME_PANEL_SIZE - (cells + 1) * GameConstants.TILE_MARGIN) / cells;
+        sprites = new TileSprites(tileSize);
 
-            @Override
-            public void onGameStateChanged(boolean gameOver, boolean gameWon) {
-                GamePanel.this.gameOver = gameOver;
-                GamePanel.this.gameWon = gameWon;
-                repaint();
-            }
-        });
+        board.setEventRing(events);
 
         setPreferredSize(new Dimension(
                 GameConstants.WINDOW_WIDTH,
@@ -35,6 +56,7 @@ public class GamePanel extends JPanel {
         ));
         setBackground(GameConstants.BACKGROUND_COLOR);
         setupKeyBindings();
+        recordHistory();
     }
 
     private void setupKeyBindings() {
@@ -50,10 +72,38 @@ public class GamePanel extends JPanel {
         bindKey(im, am, KeyEvent.VK_LEFT, "left", 3);
         bindKey(im, am, KeyEvent.VK_A, "a_left", 3);
 
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_H, 0), "hint");
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_SPACE, 0), "autoplay");
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, 0), "undo");
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, 0), "redo");
         im.put(KeyStroke.getKeyStroke(KeyEvent.VK_P, 0), "pause");
         im.put(KeyStroke.getKeyStroke(KeyEvent.VK_R, 0), "restart");
         im.put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), "exit");
 
+        am.put("hint", new AbstractAction() {
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                showHint();
+            }
+        });
+
+        am.put("autoplay", new AbstractAction() {
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                toggleAutoplay();
+            }
+        });
+
+        am.put("undo", new AbstractAction() {
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                if (canUseHistory() && history.undo()) restoreHistory();
+            }
+        });
+
+        am.put("redo", new AbstractAction() {
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                if (canUseHistory() && history.redo()) restoreHistory();
+            }
+        });
+
         am.put("pause", new AbstractAction() {
             public void actionPerformed(java.awt.event.ActionEvent e) {
                 game.togglePause();
@@ -84,23 +134,148 @@ public class GamePanel extends JPanel {
 
     private void handleMove(int direction) {
         if (paused || gameOver || gameWon) return;
-        if (board.move(direction)) {
+        if (!board.move(direction)) return;
+
+        drainEvents();
+        advisor.cancel();
+        moves++;
+        if (gameOver || gameWon) {
+            finishGame();
+        }
+        recordHistory();
+        if (hint != null) {
+            hint = null;
+            repaint(HINT_AREA);
+        }
+    }
+
+    public void setOpeningBook(OpeningBook book) {
+        solver.setOpeningBook(book);
+    }
+
+    public void finishGame() {
+        if (store == null || recorded || moves == 0) return;
+
+        recorded = true;
+        int maxValue = 0;
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < board.getCols(); col++) {
+                maxValue = Math.max(maxValue, board.getTileValue(row, col));
+            }
+        }
+        int maxExponent = maxValue == 0 ? 0 : Integer.numberOfTrailingZeros(maxValue);
+        store.recordGame(board.getScore(), maxExponent, moves,
+                Math.max(0, (System.nanoTime() - gameStart) / 1_000_000));
+    }
+
+    private void recordHistory() {
+        if (BitBoard.supports(board)) {
+            history.record(BitBoard.pack(board), board.getScore());
+        }
+    }
+
+    private boolean canUseHistory() {
+        return !paused && !autoplayTimer.isRunning();
+    }
+
+    private void restoreHistory() {
+        advisor.cancel();
+        hint = null;
+        board.restore(history.getTiles(), history.getScore());
+        drainEvents();
+        repaint(HINT_AREA);
+    }
+
+    private void showHint() {
+        if (paused || gameOver || gameWon || !BitBoard.supports(board)) return;
+        advisor.suggest(BitBoard.pack(board), move -> {
+            hint = move;
+            repaint(HINT_AREA);
+        });
+    }
+
+    private void toggleAutoplay() {
+        if (autoplayTimer.isRunning()) {
+            autoplayTimer.stop();
+            advisor.cancel();
+        } else if (!paused && !gameOver && !gameWon && BitBoard.supports(board)) {
+            autoplayTimer.start();
+        }
+    }
+
+    private void autoplayStep() {
+        if (paused || gameOver || gameWon) {
+            autoplayTimer.stop();
+            return;
+        }
+        if (advisor.isPending()) return;
+
+        advisor.suggest(BitBoard.pack(board), move -> {
+            if (move == null || !autoplayTimer.isRunning()) {
+                autoplayTimer.stop();
+                return;
+            }
+            handleMove(move.getCode());
+        });
+    }
+
+    private void drainEvents() {
+        while (eventConsumer.poll(this::onEvent) > 0) {
+        }
+        if (eventConsumer.getLost() != eventsLost) {
+            eventsLost = eventConsumer.getLost();
+            gameOver = board.isGameOver();
+            gameWon = board.isGameWon();
             repaint();
         }
     }
 
+    private void onEvent(long event, boolean endOfBatch) {
+        switch (GameEvent.type(event)) {
+            case GameEvent.TILE_MOVED:
+            case GameEvent.TILES_MERGED:
+                repaintCell(GameEvent.from(event));
+                repaintCell(GameEvent.to(event));
+                break;
+            case GameEvent.TILE_SPAWNED:
+                repaintCell(GameEvent.to(event));
+                break;
+            case GameEvent.SCORE_CHANGED:
+                repaint(SCORE_AREA);
+                break;
+            case GameEvent.TERMINAL:
+            case GameEvent.BOARD_RESET:
+                gameOver = GameEvent.isGameOver(event);
+                gameWon = GameEvent.isGameWon(event);
+                repaint();
+                break;
+        }
+    }
+
+    private void repaintCell(int cell) {
+        int cols = board.getCols();
+        repaint(tileX(cell % cols), tileY(cell / cols), tileSize, tileSize);
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0L;
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        drawGameBoard(g2d);
-        drawInfoPanel(g2d);
+        Rectangle clip = g2d.getClipBounds();
+        drawGameBoard(g2d, clip);
+        if (clip == null || clip.intersects(INFO_AREA)) {
+            drawInfoPanel(g2d);
+        }
         drawGameStatus(g2d);
+        if (GameMetrics.ENABLED) {
+            GameMetrics.recordPaint(System.nanoTime() - start);
+        }
     }
 
-    private void drawGameBoard(Graphics2D g) {
+    private void drawGameBoard(Graphics2D g, Rectangle clip) {
         int offsetX = GameConstants.PANEL_PADDING;
         int offsetY = GameConstants.PANEL_PADDING;
 
@@ -108,42 +283,34 @@ public class GamePanel extends JPanel {
         g.fillRoundRect(offsetX, offsetY, GameConstants.GAME_PANEL_SIZE,
                 GameConstants.GAME_PANEL_SIZE, 15, 15);
 
-        Tile[][] tiles = board.getBoard();
-        for (int row = 0; row < GameConstants.BOARD_SIZE; row++) {
-            for (int col = 0; col < GameConstants.BOARD_SIZE; col++) {
-                drawTile(g, tiles[row][col], offsetX, offsetY);
+        for (int row = 0; row < board.getRows(); row++) {
+            int y = tileY(row);
+            for (int col = 0; col < board.getCols(); col++) {
+                int x = tileX(col);
+                if (clip == null || clip.intersects(x, y, tileSize, tileSize)) {
+                    drawTile(g, x, y, board.getTileValue(row, col));
+                }
             }
         }
     }
 
-    private void drawTile(Graphics2D g, Tile tile, int offsetX, int offsetY) {
-        int x = offsetX + tile.getCol() * (GameConstants.TILE_SIZE + GameConstants.TILE_MARGIN)
-                + GameConstants.TILE_MARGIN;
-        int y = offsetY + tile.getRow() * (GameConstants.TILE_SIZE + GameConstants.TILE_MARGIN)
+    private int tileX(int col) {
+        return GameConstants.PANEL_PADDING + col * (tileSize + GameConstants.TILE_MARGIN)
                 + GameConstants.TILE_MARGIN;
+    }
 
-        if (tile.isEmpty()) {
-            g.setColor(GameConstants.TILE_COLORS[0]);
-            g.fillRoundRect(x, y, GameConstants.TILE_SIZE, GameConstants.TILE_SIZE, 10, 10);
-            return;
-        }
-
-        g.setColor(tile.getColor());
-        g.fillRoundRect(x, y, GameConstants.TILE_SIZE, GameConstants.TILE_SIZE, 10, 10);
-
-        String valueText = String.valueOf(tile.getValue());
-        g.setColor(tile.getTextColor());
-        g.setFont(new Font("Arial", Font.BOLD, GameConstants.TILE_SIZE / 3));
-
-        FontMetrics fm = g.getFontMetrics();
-        int textX = x + (GameConstants.TILE_SIZE - fm.stringWidth(valueText)) / 2;
-        int textY = y + (GameConstants.TILE_SIZE + fm.getAscent()) / 2 - fm.getDescent();
+    private int tileY(int row) {
+        return GameConstants.PANEL_PADDING + row * (tileSize + GameConstants.TILE_MARGIN)
+                + GameConstants.TILE_MARGIN;
+    }
 
-        g.drawString(valueText, textX, textY);
+    private void drawTile(Graphics2D g, int x, int y, int value) {
+        int exponent = value == 0 ? 0 : Integer.numberOfTrailingZeros(value);
+        g.drawImage(sprites.get(exponent), x, y, null);
     }
 
     private void drawInfoPanel(Graphics2D g) {
-        int infoX = GameConstants.PANEL_PADDING * 2 + GameConstants.GAME_PANEL_SIZE;
+        int infoX = INFO_X;
         int infoY = GameConstants.PANEL_PADDING;
         int width = GameConstants.INFO_PANEL_WIDTH;
         int height = GameConstants.GAME_PANEL_SIZE;
@@ -152,20 +319,23 @@ public class GamePanel extends JPanel {
         g.fillRoundRect(infoX, infoY, width, height, 15, 15);
 
         g.setColor(GameConstants.DARK_TEXT_COLOR);
-        g.setFont(new Font("Arial", Font.BOLD, 28));
+        g.setFont(GameConstants.TITLE_FONT);
         FontMetrics fm = g.getFontMetrics();
         String title = "2048";
         g.drawString(title, infoX + (width - fm.stringWidth(title)) / 2, infoY + 50);
 
-        g.setFont(new Font("Arial", Font.PLAIN, 16));
+        g.setFont(GameConstants.TEXT_FONT);
         g.drawString("Score: " + board.getScore(), infoX + 20, infoY + 100);
-        g.drawString("Best: " + board.getBestScore(), infoX + 20, infoY + 130);
+        int best = store == null ? board.getBestScore() : Math.max(board.getBestScore(), store.getBestScore());
+        g.drawString("Best: " + best, infoX + 20, infoY + 130);
 
         g.drawLine(infoX + 10, infoY + 160, infoX + width - 10, infoY + 160);
         g.drawString("Controls:", infoX + 20, infoY + 190);
 
         String[] controls = {
                 "←↑↓→ / WASD - Move",
+                "H - Hint, Space - Autoplay",
+                "Z - Undo, Y - Redo",
                 "P - Pause/Resume",
                 "R - Restart",
                 "ESC - Exit"
@@ -175,28 +345,32 @@ public class GamePanel extends JPanel {
             g.drawString(controls[i], infoX + 30, infoY + 220 + i * 25);
         }
 
+        if (hint != null) {
+            g.drawString("Hint: " + hint, infoX + 20, infoY + 380);
+        }
+
         if (gameWon) {
             g.setColor(Color.GREEN);
-            g.drawString("YOU WIN!", infoX + 20, infoY + 340);
+            g.drawString("YOU WIN!", infoX + 20, infoY + 410);
         } else if (gameOver) {
             g.setColor(Color.RED);
-            g.drawString("GAME OVER", infoX + 20, infoY + 340);
+            g.drawString("GAME OVER", infoX + 20, infoY + 410);
         } else if (paused) {
             g.setColor(Color.ORANGE);
-            g.drawString("PAUSED", infoX + 20, infoY + 340);
+            g.drawString("PAUSED", infoX + 20, infoY + 410);
         }
     }
 
     private void drawGameStatus(Graphics2D g) {
         if (!paused && !gameWon && !gameOver) return;
 
-        g.setColor(new Color(0, 0, 0, 150));
+        g.setColor(GameConstants.OVERLAY_COLOR);
         int boardX = GameConstants.PANEL_PADDING;
         int boardY = GameConstants.PANEL_PADDING;
         g.fillRoundRect(boardX, boardY, GameConstants.GAME_PANEL_SIZE,
                 GameConstants.GAME_PANEL_SIZE, 15, 15);
 
-        g.setFont(new Font("Arial", Font.BOLD, 36));
+        g.setFont(GameConstants.STATUS_FONT);
         FontMetrics fm = g.getFontMetrics();
 
         String statusText = "";
@@ -222,17 +396,34 @@ public class GamePanel extends JPanel {
         int centerY = boardY + GameConstants.GAME_PANEL_SIZE / 2;
         g.drawString(statusText, centerX - fm.stringWidth(statusText) / 2, centerY - 20);
 
-        g.setFont(new Font("Arial", Font.PLAIN, 16));
+        g.setFont(GameConstants.TEXT_FONT);
         fm = g.getFontMetrics();
         g.drawString(subText, centerX - fm.stringWidth(subText) / 2, centerY + 20);
     }
 
     public void setPaused(boolean paused) {
         this.paused = paused;
+        if (paused) {
+            advisor.cancel();
+        }
         repaint();
     }
 
+    public void shutdown() {
+        autoplayTimer.stop();
+        advisor.shutdown();
+    }
+
     public void reset() {
+        drainEvents();
+        autoplayTimer.stop();
+        advisor.cancel();
+        hint = null;
+        history.clear();
+        recordHistory();
+        moves = 0;
+        gameStart = System.nanoTime();
+        recorded = false;
         paused = false;
         gameOver = false;
         gameWon = false;
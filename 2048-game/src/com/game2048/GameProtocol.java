@@ -0,0 +1,43 @@
+package com.game2048;
+
+import java.nio.ByteBuffer;
+
+public final class GameProtocol {
+    public static final int REQUEST_BYTES = 8;
+    public static final int RESPONSE_BYTES = 20;
+
+    public static final byte OP_CREATE = 1;
+    public static final byte OP_MOVE = 2;
+    public static final byte OP_GET = 3;
+    public static final byte OP_CLOSE = 4;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_UNKNOWN_SESSION = 1;
+    public static final byte STATUS_BAD_REQUEST = 2;
+    public static final byte STATUS_FULL = 3;
+
+    public static final int FLAG_MOVED = 1;
+    public static final int FLAG_GAME_OVER = 2;
+    public static final int FLAG_WON = 4;
+
+    private GameProtocol() {
+    }
+
+    public static void putRequest(ByteBuffer buffer, byte op, int direction, int session) {
+        buffer.put(op);
+        buffer.put((byte) direction);
+        buffer.putShort((short) 0);
+        buffer.putInt(session);
+    }
+
+    static void putResponse(ByteBuffer buffer, byte op, byte status, int flags, int session,
+                            long tiles, int score) {
+        buffer.put(op);
+        buffer.put(status);
+        buffer.put((byte) flags);
+        buffer.put((byte) 0);
+        buffer.putInt(session);
+        buffer.putLong(tiles);
+        buffer.putInt(score);
+    }
+}
\ No newline at end of file
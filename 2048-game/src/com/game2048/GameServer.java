@@ -0,0 +1,231 @@
+package com.game2048;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+public class GameServer implements Closeable {
+    public static final int DEFAULT_PORT = 2048;
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final SessionTable sessions;
+    private final Connection[] owners;
+    private final SplittableRandom random;
+    private volatile boolean running = true;
+
+    public GameServer(InetSocketAddress address, int capacity, long seed) throws IOException {
+        sessions = new SessionTable(capacity);
+        owners = new Connection[capacity];
+        random = new SplittableRandom(seed);
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    public void run() throws IOException {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                            continue;
+                        }
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isReadable()) connection.read();
+                        if (key.isValid() && key.isWritable()) connection.write();
+                    } catch (IOException e) {
+                        disconnect(key);
+                    }
+                }
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) return;
+
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new Connection(channel, key));
+    }
+
+    private void disconnect(SelectionKey key) throws IOException {
+        key.cancel();
+        key.channel().close();
+        Connection connection = (Connection) key.attachment();
+        if (connection != null) {
+            connection.release();
+        }
+    }
+
+    private void handle(Connection connection) {
+        ByteBuffer in = connection.in;
+        ByteBuffer out = connection.out;
+        byte op = in.get();
+        int direction = in.get();
+        in.getShort();
+        int id = in.getInt();
+
+        if (op == GameProtocol.OP_CREATE) {
+            id = sessions.create(random);
+            if (id < 0) {
+                GameProtocol.putResponse(out, op, GameProtocol.STATUS_FULL, 0, -1, 0L, 0);
+                return;
+            }
+            owners[id] = connection;
+            connection.add(id);
+            GameProtocol.putResponse(out, op, GameProtocol.STATUS_OK, sessions.stateFlags(id), id,
+                    sessions.getTiles(id), 0);
+            return;
+        }
+        if (!sessions.isActive(id) || owners[id] != connection) {
+            GameProtocol.putResponse(out, op, GameProtocol.STATUS_UNKNOWN_SESSION, 0, id, 0L, 0);
+            return;
+        }
+
+        int flags;
+        switch (op) {
+            case GameProtocol.OP_MOVE:
+                if (direction < 0 || direction > 3) {
+                    GameProtocol.putResponse(out, op, GameProtocol.STATUS_BAD_REQUEST, 0, id, 0L, 0);
+                    return;
+                }
+                flags = sessions.move(id, direction, random);
+                break;
+            case GameProtocol.OP_GET:
+                flags = sessions.stateFlags(id);
+                break;
+            case GameProtocol.OP_CLOSE:
+                flags = sessions.stateFlags(id);
+                GameProtocol.putResponse(out, op, GameProtocol.STATUS_OK, flags, id,
+                        sessions.getTiles(id), sessions.getScore(id));
+                connection.remove(id);
+                return;
+            default:
+                GameProtocol.putResponse(out, op, GameProtocol.STATUS_BAD_REQUEST, 0, id, 0L, 0);
+                return;
+        }
+        GameProtocol.putResponse(out, op, GameProtocol.STATUS_OK, flags, id,
+                sessions.getTiles(id), sessions.getScore(id));
+    }
+
+    private final class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private int[] ids = new int[16];
+        private int idCount;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        void read() throws IOException {
+            if (channel.read(in) < 0) {
+                disconnect(key);
+                return;
+            }
+            process();
+            flush();
+        }
+
+        void write() throws IOException {
+            flush();
+            if (out.position() == 0) {
+                process();
+                flush();
+            }
+        }
+
+        private void process() {
+            in.flip();
+            while (in.remaining() >= GameProtocol.REQUEST_BYTES
+                    && out.remaining() >= GameProtocol.RESPONSE_BYTES) {
+                handle(this);
+            }
+            in.compact();
+        }
+
+        void add(int id) {
+            if (idCount == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[idCount++] = id;
+        }
+
+        void remove(int id) {
+            for (int i = 0; i < idCount; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--idCount];
+                    break;
+                }
+            }
+            owners[id] = null;
+            sessions.close(id);
+        }
+
+        void release() {
+            for (int i = 0; i < idCount; i++) {
+                owners[ids[i]] = null;
+                sessions.close(ids[i]);
+            }
+            idCount = 0;
+        }
+
+        private void flush() throws IOException {
+            out.flip();
+            channel.write(out);
+            out.compact();
+            key.interestOps(out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CAPACITY;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        GameServer server = new GameServer(new InetSocketAddress("localhost", port), capacity, seed);
+        System.out.println("Listening on port " + server.getPort() + " with " + capacity + " sessions");
+        server.run();
+    }
+}
\ No newline at end of file
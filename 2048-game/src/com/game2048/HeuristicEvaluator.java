@@ -0,0 +1,73 @@
+package com.game2048;
+
+import java.util.Arrays;
+
+public class HeuristicEvaluator implements BoardEvaluator {
+    private final HeuristicWeights weights;
+    private final double[] table;
+
+    public HeuristicEvaluator() {
+        this(HeuristicWeights.DEFAULT);
+    }
+
+    public HeuristicEvaluator(HeuristicWeights weights) {
+        this.weights = weights;
+        table = new double[RowTables.ROWS];
+        Arrays.parallelSetAll(table, line -> lineValue(line, weights));
+    }
+
+    public HeuristicWeights getWeights() {
+        return weights;
+    }
+
+    @Override
+    public double evaluate(long tiles) {
+        double[] lines = table;
+        long columns = BitBoard.transpose(tiles);
+        return lines[(int) (tiles & 0xFFFF)]
+                + lines[(int) ((tiles >>> 16) & 0xFFFF)]
+                + lines[(int) ((tiles >>> 32) & 0xFFFF)]
+                + lines[(int) (tiles >>> 48)]
+                + lines[(int) (columns & 0xFFFF)]
+                + lines[(int) ((columns >>> 16) & 0xFFFF)]
+                + lines[(int) ((columns >>> 32) & 0xFFFF)]
+                + lines[(int) (columns >>> 48)];
+    }
+
+    static double lineValue(int line, HeuristicWeights weights) {
+        int empty = 0;
+        int merges = 0;
+        double increasing = 0;
+        double decreasing = 0;
+        double roughness = 0;
+        double sum = 0;
+
+        for (int i = 0; i < 4; i++) {
+            int current = (line >>> (i * 4)) & 0xF;
+            if (current == 0) {
+                empty++;
+            } else {
+                sum += Math.pow(current, weights.getSumPower());
+            }
+            if (i == 3) continue;
+
+            int next = (line >>> ((i + 1) * 4)) & 0xF;
+            if (current != 0 && current == next) merges++;
+            if (current != 0 && next != 0) roughness += Math.abs(current - next);
+
+            double currentPower = Math.pow(current, weights.getMonotonicityPower());
+            double nextPower = Math.pow(next, weights.getMonotonicityPower());
+            if (current > next) {
+                decreasing += currentPower - nextPower;
+            } else {
+                increasing += nextPower - currentPower;
+            }
+        }
+
+        return empty * weights.getEmpty()
+                + merges * weights.getMerges()
+                - Math.min(increasing, decreasing) * weights.getMonotonicity()
+                - roughness * weights.getSmoothness()
+                - sum * weights.getSum();
+    }
+}
\ No newline at end of file
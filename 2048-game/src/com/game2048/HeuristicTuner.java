@@ -0,0 +1,66 @@
+package com.game2048;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class HeuristicTuner {
+    private final long games;
+    private final int depth;
+    private final long seed;
+
+    public HeuristicTuner(long games, int depth, long seed) {
+        this.games = games;
+        this.depth = depth;
+        this.seed = seed;
+    }
+
+    public SimulationStats evaluate(HeuristicWeights weights) throws InterruptedException {
+        ExpectimaxSolver solver = new ExpectimaxSolver(depth, 0, new HeuristicEvaluator(weights),
+                ForkJoinPool.commonPool());
+        return new Simulator(MovePolicy.of(solver), 1, seed).run(games);
+    }
+
+    public static List<HeuristicWeights> variants(HeuristicWeights base) {
+        List<HeuristicWeights> variants = new ArrayList<>();
+        variants.add(base);
+        for (String name : HeuristicWeights.NAMES) {
+            double value = base.get(name);
+            if (value == 0) continue;
+
+            variants.add(base.with(name, value * 0.5));
+            variants.add(base.with(name, value * 2));
+        }
+        return variants;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 20;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 2048;
+
+        List<HeuristicWeights> candidates = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+            candidates.add(HeuristicWeights.parse(args[i]));
+        }
+        if (candidates.isEmpty()) {
+            candidates = variants(HeuristicWeights.DEFAULT);
+        }
+
+        HeuristicTuner tuner = new HeuristicTuner(games, depth, seed);
+        HeuristicWeights best = null;
+        double bestScore = -1;
+        for (HeuristicWeights weights : candidates) {
+            long start = System.nanoTime();
+            SimulationStats stats = tuner.evaluate(weights);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("avg score=%9.1f win rate=%.3f time=%5.1fs  %s%n",
+                    stats.getAverageScore(), stats.getWinRate(), seconds, weights);
+            if (stats.getAverageScore() > bestScore) {
+                bestScore = stats.getAverageScore();
+                best = weights;
+            }
+        }
+        System.out.println("best: " + best);
+    }
+}
\ No newline at end of file
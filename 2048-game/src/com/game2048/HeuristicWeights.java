@@ -0,0 +1,81 @@
+package com.game2048;
+
+import java.util.Arrays;
+
+public final class HeuristicWeights {
+    static final String[] NAMES = {
+            "empty", "merges", "monotonicity", "monotonicityPower", "smoothness", "sum", "sumPower"
+    };
+
+    public static final HeuristicWeights DEFAULT = new HeuristicWeights(135, 70, 47, 2, 0, 0, 3.5);
+
+    private final double[] values;
+
+    public HeuristicWeights(double empty, double merges, double monotonicity, double monotonicityPower,
+                            double smoothness, double sum, double sumPower) {
+        this(new double[] {empty, merges, monotonicity, monotonicityPower, smoothness, sum, sumPower});
+    }
+
+    private HeuristicWeights(double[] values) {
+        this.values = values;
+    }
+
+    public double getEmpty() { return values[0]; }
+    public double getMerges() { return values[1]; }
+    public double getMonotonicity() { return values[2]; }
+    public double getMonotonicityPower() { return values[3]; }
+    public double getSmoothness() { return values[4]; }
+    public double getSum() { return values[5]; }
+    public double getSumPower() { return values[6]; }
+
+    public double get(String name) {
+        return values[indexOf(name)];
+    }
+
+    public HeuristicWeights with(String name, double value) {
+        double[] copy = values.clone();
+        copy[indexOf(name)] = value;
+        return new HeuristicWeights(copy);
+    }
+
+    private static int indexOf(String name) {
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].equals(name)) return i;
+        }
+        throw new IllegalArgumentException("Unknown weight: " + name);
+    }
+
+    public static HeuristicWeights parse(String spec) {
+        HeuristicWeights weights = DEFAULT;
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) continue;
+
+            String[] pair = entry.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected name=value: " + entry);
+            }
+            weights = weights.with(pair[0].trim(), Double.parseDouble(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof HeuristicWeights && Arrays.equals(values, ((HeuristicWeights) other).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < NAMES.length; i++) {
+            if (i > 0) builder.append(',');
+            builder.append(NAMES[i]).append('=').append(values[i]);
+        }
+        return builder.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.game2048;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class LoadGenerator {
+    private final InetSocketAddress address;
+    private final int sessionsPerConnection;
+    private final int pipeline;
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public LoadGenerator(InetSocketAddress address, int sessionsPerConnection, int pipeline) {
+        if (sessionsPerConnection < 1 || pipeline < 1) {
+            throw new IllegalArgumentException("sessions and pipeline depth must be at least 1");
+        }
+        this.address = address;
+        this.sessionsPerConnection = sessionsPerConnection;
+        this.pipeline = pipeline;
+    }
+
+    public long run(int connections, long millis, long seed) throws InterruptedException {
+        SplittableRandom root = new SplittableRandom(seed);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        ExecutorService executor = Executors.newFixedThreadPool(connections);
+        List<Future<Long>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < connections; i++) {
+                SplittableRandom random = root.split();
+                results.add(executor.submit(() -> drive(random, deadline)));
+            }
+
+            long moves = 0;
+            for (Future<Long> result : results) {
+                moves += result.get();
+            }
+            return moves;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load generator connection failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long drive(SplittableRandom random, long deadline) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            channel.socket().setTcpNoDelay(true);
+            int batch = Math.max(pipeline, sessionsPerConnection);
+            ByteBuffer requests = ByteBuffer.allocateDirect(batch * GameProtocol.REQUEST_BYTES);
+            ByteBuffer responses = ByteBuffer.allocateDirect(batch * GameProtocol.RESPONSE_BYTES);
+
+            int[] sessions = new int[sessionsPerConnection];
+            for (int i = 0; i < sessions.length; i++) {
+                GameProtocol.putRequest(requests, GameProtocol.OP_CREATE, 0, 0);
+            }
+            exchange(channel, requests, responses, sessions.length);
+            for (int i = 0; i < sessions.length; i++) {
+                sessions[i] = checkResponse(responses, i).getInt(i * GameProtocol.RESPONSE_BYTES + 4);
+            }
+
+            long moves = 0;
+            int next = 0;
+            int[] targets = new int[pipeline];
+            while (System.nanoTime() < deadline) {
+                for (int i = 0; i < pipeline; i++) {
+                    targets[i] = next;
+                    GameProtocol.putRequest(requests, GameProtocol.OP_MOVE, random.nextInt(4), sessions[next]);
+                    next = next + 1 == sessions.length ? 0 : next + 1;
+                }
+                long sent = System.nanoTime();
+                requests.flip();
+                while (requests.hasRemaining()) {
+                    channel.write(requests);
+                }
+                requests.clear();
+
+                responses.clear();
+                for (int i = 0; i < pipeline; i++) {
+                    int end = (i + 1) * GameProtocol.RESPONSE_BYTES;
+                    while (responses.position() < end) {
+                        if (channel.read(responses) < 0) throw new IOException("Server closed connection");
+                    }
+                    latency.record(System.nanoTime() - sent);
+                }
+                moves += pipeline;
+
+                for (int i = 0; i < pipeline; i++) {
+                    int offset = i * GameProtocol.RESPONSE_BYTES;
+                    int flags = checkResponse(responses, i).get(offset + 2);
+                    int session = responses.getInt(offset + 4);
+                    if ((flags & GameProtocol.FLAG_GAME_OVER) != 0 && session == sessions[targets[i]]) {
+                        sessions[targets[i]] = restart(channel, sessions[targets[i]]);
+                    }
+                }
+            }
+            return moves;
+        }
+    }
+
+    private static int restart(SocketChannel channel, int session) throws IOException {
+        ByteBuffer requests = ByteBuffer.allocate(2 * GameProtocol.REQUEST_BYTES);
+        ByteBuffer responses = ByteBuffer.allocate(2 * GameProtocol.RESPONSE_BYTES);
+        GameProtocol.putRequest(requests, GameProtocol.OP_CLOSE, 0, session);
+        GameProtocol.putRequest(requests, GameProtocol.OP_CREATE, 0, 0);
+        exchange(channel, requests, responses, 2);
+        return checkResponse(responses, 1).getInt(GameProtocol.RESPONSE_BYTES + 4);
+    }
+
+    private static void exchange(SocketChannel channel, ByteBuffer requests, ByteBuffer responses,
+                                 int count) throws IOException {
+        requests.flip();
+        while (requests.hasRemaining()) {
+            channel.write(requests);
+        }
+        requests.clear();
+
+        responses.clear();
+        responses.limit(count * GameProtocol.RESPONSE_BYTES);
+        while (responses.hasRemaining()) {
+            if (channel.read(responses) < 0) throw new IOException("Server closed connection");
+        }
+    }
+
+    private static ByteBuffer checkResponse(ByteBuffer responses, int index) throws IOException {
+        int offset = index * GameProtocol.RESPONSE_BYTES;
+        byte status = responses.get(offset + 1);
+        if (status != GameProtocol.STATUS_OK) {
+            throw new IOException("Request " + responses.get(offset) + " failed with status " + status);
+        }
+        return responses;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int sessions = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        int pipeline = args.length > 3 ? Integer.parseInt(args[3]) : 32;
+        long seconds = args.length > 4 ? Long.parseLong(args[4]) : 10;
+
+        GameServer embedded = null;
+        if (port == 0) {
+            embedded = new GameServer(new InetSocketAddress("localhost", 0),
+                    GameServer.DEFAULT_CAPACITY, System.nanoTime());
+            port = embedded.getPort();
+            GameServer server = embedded;
+            Thread thread = new Thread(() -> {
+                try {
+                    server.run();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }, "game-server");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        LoadGenerator generator = new LoadGenerator(new InetSocketAddress("localhost", port), sessions, pipeline);
+        long start = System.nanoTime();
+        long moves = generator.run(connections, TimeUnit.SECONDS.toMillis(seconds), System.nanoTime());
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        if (embedded != null) {
+            embedded.close();
+        }
+
+        LatencyHistogram latency = generator.getLatency();
+        System.out.printf("connections=%d sessions=%d pipeline=%d%n", connections, connections * sessions, pipeline);
+        System.out.printf("moves=%d moves/s=%.0f%n", moves, moves / elapsed);
+        System.out.printf("latency p50=%.1fus p99=%.1fus max=%.1fus%n",
+                latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(99) / 1e3,
+                latency.getMax() / 1e3);
+    }
+}
\ No newline at end of file
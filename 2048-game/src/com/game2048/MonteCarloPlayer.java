@@ -0,0 +1,162 @@
+package com.game2048;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class MonteCarloPlayer {
+    public static final int DEFAULT_ROLLOUTS = 100;
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 100;
+
+    private final int rolloutsPerMove;
+    private final long timeBudgetMillis;
+    private final ForkJoinPool pool;
+    private final SplittableRandom root;
+
+    public MonteCarloPlayer() {
+        this(DEFAULT_ROLLOUTS, DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    public MonteCarloPlayer(int rolloutsPerMove, long timeBudgetMillis) {
+        this(rolloutsPerMove, timeBudgetMillis, ForkJoinPool.commonPool(), System.nanoTime());
+    }
+
+    public MonteCarloPlayer(int rolloutsPerMove, long timeBudgetMillis, ForkJoinPool pool, long seed) {
+        if (rolloutsPerMove < 1) {
+            throw new IllegalArgumentException("rolloutsPerMove must be at least 1: " + rolloutsPerMove);
+        }
+        this.rolloutsPerMove = rolloutsPerMove;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.pool = pool;
+        this.root = new SplittableRandom(seed);
+    }
+
+    public MoveDirection bestMove(Board board) {
+        int direction = bestMove(BitBoard.pack(board));
+        return direction < 0 ? null : MoveDirection.fromCode(direction);
+    }
+
+    public int bestMove(long tiles) {
+        long seed;
+        synchronized (root) {
+            seed = root.nextLong();
+        }
+        return bestMove(tiles, seed);
+    }
+
+    public int bestMove(long tiles, long seed) {
+        int legal = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            if (BitBoard.move(tiles, direction) != tiles) legal |= 1 << direction;
+        }
+        if (Integer.bitCount(legal) < 2) {
+            return legal == 0 ? -1 : Integer.numberOfTrailingZeros(legal);
+        }
+
+        long deadline = timeBudgetMillis > 0
+                ? System.nanoTime() + timeBudgetMillis * 1_000_000L
+                : Long.MAX_VALUE;
+        int workers = Math.max(1, Math.min(pool.getParallelism(), rolloutsPerMove));
+        Rollouts[] tasks = new Rollouts[workers];
+        for (int i = 0; i < workers; i++) {
+            int share = rolloutsPerMove / workers + (i < rolloutsPerMove % workers ? 1 : 0);
+            tasks[i] = new Rollouts(tiles, legal, share, deadline, rolloutRandom(seed, i));
+        }
+        pool.invoke(new RolloutBatch(tasks));
+
+        int best = Integer.numberOfTrailingZeros(legal);
+        double bestMean = Double.NEGATIVE_INFINITY;
+        for (int direction = 0; direction < 4; direction++) {
+            if ((legal & (1 << direction)) == 0) continue;
+
+            long total = 0;
+            int count = 0;
+            for (Rollouts task : tasks) {
+                total += task.totals[direction];
+                count += task.counts[direction];
+            }
+            if (count == 0) continue;
+
+            double mean = (double) total / count;
+            if (mean > bestMean) {
+                bestMean = mean;
+                best = direction;
+            }
+        }
+        return best;
+    }
+
+    // Each stream's seed goes through a mix64 finalizer so that neighbouring streams are unrelated;
+    // seeding with seed + i * GOLDEN_GAMMA would just shift one stream by i draws.
+    static SplittableRandom rolloutRandom(long seed, int stream) {
+        long z = seed + stream;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    static int rollout(long tiles, SplittableRandom random) {
+        int score = 0;
+        while (true) {
+            int legal = 0;
+            for (int direction = 0; direction < 4; direction++) {
+                if (BitBoard.move(tiles, direction) != tiles) legal |= 1 << direction;
+            }
+            if (legal == 0) return score;
+
+            int pick = random.nextInt(Integer.bitCount(legal));
+            while (pick-- > 0) {
+                legal &= legal - 1;
+            }
+            int direction = Integer.numberOfTrailingZeros(legal);
+            score += BitBoard.moveScore(tiles, direction);
+            tiles = BitBoard.addRandomTile(BitBoard.move(tiles, direction), random);
+        }
+    }
+
+    private static class RolloutBatch extends RecursiveAction {
+        private final Rollouts[] tasks;
+
+        RolloutBatch(Rollouts[] tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+
+    private static class Rollouts extends RecursiveAction {
+        private final long tiles;
+        private final int legal;
+        private final int rollouts;
+        private final long deadline;
+        private final SplittableRandom random;
+        private final long[] totals = new long[4];
+        private final int[] counts = new int[4];
+
+        Rollouts(long tiles, int legal, int rollouts, long deadline, SplittableRandom random) {
+            this.tiles = tiles;
+            this.legal = legal;
+            this.rollouts = rollouts;
+            this.deadline = deadline;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = 0; i < rollouts; i++) {
+                if (i > 0 && System.nanoTime() > deadline) return;
+
+                for (int direction = 0; direction < 4; direction++) {
+                    if ((legal & (1 << direction)) == 0) continue;
+
+                    long next = BitBoard.addRandomTile(BitBoard.move(tiles, direction), random);
+                    totals[direction] += BitBoard.moveScore(tiles, direction) + rollout(next, random);
+                    counts[direction]++;
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.game2048;
+
+import javax.swing.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+public class MoveAdvisor {
+    private final ExpectimaxSolver solver;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "move-advisor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Future<?> pending;
+    private long generation;
+
+    public MoveAdvisor(ExpectimaxSolver solver) {
+        this.solver = solver;
+    }
+
+    public void suggest(long tiles, Consumer<MoveDirection> callback) {
+        cancel();
+        long request = generation;
+        pending = executor.submit(() -> {
+            MoveDirection move = null;
+            try {
+                int direction = solver.bestMove(tiles);
+                move = direction < 0 ? null : MoveDirection.fromCode(direction);
+            } catch (RuntimeException e) {
+                System.err.println("Move search failed: " + e);
+            } finally {
+                MoveDirection result = move;
+                SwingUtilities.invokeLater(() -> {
+                    if (request != generation) return;
+
+                    pending = null;
+                    callback.accept(result);
+                });
+            }
+        });
+    }
+
+    public boolean isPending() {
+        return pending != null;
+    }
+
+    public void cancel() {
+        generation++;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    public void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+}
\ No newline at end of file
@@ -19,6 +19,16 @@ public enum MoveDirection {
         return code;
     }
 
+    public static MoveDirection fromCode(int code) {
+        return switch (code) {
+            case 0 -> UP;
+            case 1 -> RIGHT;
+            case 2 -> DOWN;
+            case 3 -> LEFT;
+            default -> null;
+        };
+    }
+
     public static MoveDirection fromKeyCode(int keyCode) {
         return switch (keyCode) {
             case 38 -> UP;
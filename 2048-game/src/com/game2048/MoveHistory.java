@@ -0,0 +1,79 @@
+package com.game2048;
+
+public class MoveHistory {
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final long[] boards;
+    private final int[] scores;
+    private int first;
+    private int size;
+    private int cursor = -1;
+
+    public MoveHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveHistory(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2: " + capacity);
+        }
+        boards = new long[capacity];
+        scores = new int[capacity];
+    }
+
+    public void record(long tiles, int score) {
+        if (cursor == boards.length - 1) {
+            first = (first + 1) % boards.length;
+        } else {
+            cursor++;
+        }
+        size = cursor + 1;
+
+        int slot = slot(cursor);
+        boards[slot] = tiles;
+        scores[slot] = score;
+    }
+
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+
+    public boolean canRedo() {
+        return cursor < size - 1;
+    }
+
+    public boolean undo() {
+        if (!canUndo()) return false;
+
+        cursor--;
+        return true;
+    }
+
+    public boolean redo() {
+        if (!canRedo()) return false;
+
+        cursor++;
+        return true;
+    }
+
+    public long getTiles() {
+        return boards[slot(cursor)];
+    }
+
+    public int getScore() {
+        return scores[slot(cursor)];
+    }
+
+    public void clear() {
+        first = 0;
+        size = 0;
+        cursor = -1;
+    }
+
+    private int slot(int index) {
+        if (index < 0) {
+            throw new IllegalStateException("History is empty");
+        }
+        return (first + index) % boards.length;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.game2048;
+
+import java.util.random.RandomGenerator;
+
+public interface MovePolicy {
+    int chooseMove(long tiles, RandomGenerator random);
+
+    MovePolicy RANDOM = (tiles, random) -> {
+        int legal = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            if (BitBoard.move(tiles, direction) != tiles) legal |= 1 << direction;
+        }
+        if (legal == 0) return -1;
+
+        int pick = random.nextInt(Integer.bitCount(legal));
+        for (int direction = 0; direction < 4; direction++) {
+            if ((legal & (1 << direction)) != 0 && pick-- == 0) return direction;
+        }
+        return -1;
+    };
+
+    MovePolicy GREEDY = (tiles, random) -> {
+        int best = -1;
+        int bestScore = -1;
+        int bestEmpty = -1;
+        for (int direction = 0; direction < 4; direction++) {
+            long next = BitBoard.move(tiles, direction);
+            if (next == tiles) continue;
+
+            int score = BitBoard.moveScore(tiles, direction);
+            int empty = BitBoard.countEmpty(next);
+            if (score > bestScore || (score == bestScore && empty > bestEmpty)) {
+                best = direction;
+                bestScore = score;
+                bestEmpty = empty;
+            }
+        }
+        return best;
+    };
+
+    static MovePolicy of(ExpectimaxSolver solver) {
+        return (tiles, random) -> solver.bestMove(tiles);
+    }
+
+    static MovePolicy of(MonteCarloPlayer player) {
+        return (tiles, random) -> player.bestMove(tiles, random.nextLong());
+    }
+
+    static MovePolicy of(BoardEvaluator evaluator) {
+        return (tiles, random) -> {
+            int best = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int direction = 0; direction < 4; direction++) {
+                long next = BitBoard.move(tiles, direction);
+                if (next == tiles) continue;
+
+                double value = BitBoard.moveScore(tiles, direction) + evaluator.evaluate(next);
+                if (value > bestValue) {
+                    best = direction;
+                    bestValue = value;
+                }
+            }
+            return best;
+        };
+    }
+}
\ No newline at end of file
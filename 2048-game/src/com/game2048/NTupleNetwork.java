@@ -0,0 +1,158 @@
+package com.game2048;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class NTupleNetwork implements BoardEvaluator {
+    static final int MAGIC = 0x4E545550;
+    static final int MAX_TUPLES = 256;
+    static final int MAX_TUPLE_LENGTH = 7;
+
+    public static final int[][] DEFAULT_TUPLES = {
+            {0, 1, 2, 3},
+            {4, 5, 6, 7},
+            {0, 1, 4, 5},
+            {1, 2, 5, 6},
+            {5, 6, 9, 10}
+    };
+
+    private final int[][] tuples;
+    private final float[][] weights;
+    private final int[][] shifts;
+    private final float[][] featureWeights;
+
+    public NTupleNetwork() {
+        this(DEFAULT_TUPLES);
+    }
+
+    public NTupleNetwork(int[][] tuples) {
+        if (tuples.length == 0) {
+            throw new IllegalArgumentException("At least one tuple is required");
+        }
+        this.tuples = new int[tuples.length][];
+        weights = new float[tuples.length][];
+        shifts = new int[tuples.length * BoardSymmetry.COUNT][];
+        featureWeights = new float[shifts.length][];
+
+        for (int t = 0; t < tuples.length; t++) {
+            int[] tuple = tuples[t];
+            if (tuple.length < 1 || tuple.length > MAX_TUPLE_LENGTH) {
+                throw new IllegalArgumentException("Tuple length must be 1.." + MAX_TUPLE_LENGTH + ": "
+                        + tuple.length);
+            }
+            for (int cell : tuple) {
+                if (cell < 0 || cell >= 16) {
+                    throw new IllegalArgumentException("Invalid cell in tuple: " + cell);
+                }
+            }
+            this.tuples[t] = tuple.clone();
+            weights[t] = new float[1 << (tuple.length * 4)];
+
+            for (int symmetry = 0; symmetry < BoardSymmetry.COUNT; symmetry++) {
+                int feature = t * BoardSymmetry.COUNT + symmetry;
+                shifts[feature] = new int[tuple.length];
+                for (int j = 0; j < tuple.length; j++) {
+                    shifts[feature][j] = BoardSymmetry.mapCell(tuple[j], symmetry) * 4;
+                }
+                featureWeights[feature] = weights[t];
+            }
+        }
+    }
+
+    private int index(long tiles, int feature) {
+        int[] cellShifts = shifts[feature];
+        int index = 0;
+        for (int j = 0; j < cellShifts.length; j++) {
+            index |= (int) ((tiles >>> cellShifts[j]) & 0xF) << (j * 4);
+        }
+        return index;
+    }
+
+    @Override
+    public double evaluate(long tiles) {
+        float sum = 0;
+        for (int feature = 0; feature < shifts.length; feature++) {
+            sum += featureWeights[feature][index(tiles, feature)];
+        }
+        return sum;
+    }
+
+    public void update(long tiles, float delta) {
+        for (int feature = 0; feature < shifts.length; feature++) {
+            featureWeights[feature][index(tiles, feature)] += delta;
+        }
+    }
+
+    public int getFeatureCount() {
+        return shifts.length;
+    }
+
+    public void save(Path path) throws IOException {
+        long size = 2 * Integer.BYTES;
+        for (int[] tuple : tuples) {
+            size += 1 + tuple.length + (long) Float.BYTES * (1 << (tuple.length * 4));
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC);
+            buffer.putInt(tuples.length);
+            for (int[] tuple : tuples) {
+                buffer.put((byte) tuple.length);
+                for (int cell : tuple) {
+                    buffer.put((byte) cell);
+                }
+            }
+            for (float[] table : weights) {
+                buffer.asFloatBuffer().put(table);
+                buffer.position(buffer.position() + table.length * Float.BYTES);
+            }
+            buffer.force();
+        }
+    }
+
+    public static NTupleNetwork load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Not an n-tuple weight file: " + path);
+            }
+
+            int count = buffer.getInt();
+            if (count < 1 || count > MAX_TUPLES) {
+                throw new IOException("Invalid tuple count in " + path + ": " + count);
+            }
+            int[][] tuples = new int[count][];
+            long tableBytes = 0;
+            for (int t = 0; t < tuples.length; t++) {
+                int length = buffer.hasRemaining() ? buffer.get() : 0;
+                if (length < 1 || length > MAX_TUPLE_LENGTH || buffer.remaining() < length) {
+                    throw new IOException("Invalid length for tuple " + t + " in " + path + ": " + length);
+                }
+                tuples[t] = new int[length];
+                for (int j = 0; j < length; j++) {
+                    int cell = buffer.get();
+                    if (cell < 0 || cell >= 16) {
+                        throw new IOException("Invalid cell in tuple " + t + " in " + path + ": " + cell);
+                    }
+                    tuples[t][j] = cell;
+                }
+                tableBytes += (long) Float.BYTES << (length * 4);
+            }
+            if (buffer.remaining() < tableBytes) {
+                throw new IOException("Truncated n-tuple weight file: " + path);
+            }
+
+            NTupleNetwork network = new NTupleNetwork(tuples);
+            for (float[] table : network.weights) {
+                buffer.asFloatBuffer().get(table);
+                buffer.position(buffer.position() + table.length * Float.BYTES);
+            }
+            return network;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.game2048;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class OpeningBook implements Closeable {
+    static final long MAGIC = 0x32303438424F4F4BL;
+    static final int HEADER_BYTES = 64;
+    static final int ENTRY_BYTES = 16;
+    private static final int SEGMENT_BITS = 26;
+    private static final double MAX_LOAD = 0.75;
+
+    public static final Path DEFAULT_PATH = Path.of(System.getProperty("user.home"), ".2048-book");
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private final long mask;
+    private final boolean writable;
+    private long size;
+
+    private OpeningBook(FileChannel channel, int capacityBits, boolean writable, boolean create) throws IOException {
+        this.channel = channel;
+        this.writable = writable;
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        header = channel.map(mode, 0, HEADER_BYTES);
+        if (create) {
+            header.putLong(0, MAGIC);
+            header.putInt(8, capacityBits);
+            header.putLong(16, 0L);
+        } else {
+            if (header.getLong(0) != MAGIC) {
+                throw new IOException("Not an opening book");
+            }
+            capacityBits = header.getInt(8);
+            if (capacityBits < 4 || capacityBits > 36) {
+                throw new IOException("Corrupt opening book: capacityBits " + capacityBits);
+            }
+            long expected = HEADER_BYTES + (ENTRY_BYTES << capacityBits);
+            if (channel.size() < expected) {
+                throw new IOException("Truncated opening book: " + channel.size() + " of " + expected + " bytes");
+            }
+            long entries = header.getLong(16);
+            if (entries < 0 || entries > 1L << capacityBits) {
+                throw new IOException("Corrupt opening book: size " + entries);
+            }
+        }
+
+        long capacity = 1L << capacityBits;
+        mask = capacity - 1;
+        size = header.getLong(16);
+        int segmentEntries = (int) Math.min(capacity, 1L << SEGMENT_BITS);
+        segments = new MappedByteBuffer[(int) (capacity / segmentEntries)];
+        for (int i = 0; i < segments.length; i++) {
+            long offset = HEADER_BYTES + (long) i * segmentEntries * ENTRY_BYTES;
+            segments[i] = channel.map(mode, offset, (long) segmentEntries * ENTRY_BYTES);
+        }
+    }
+
+    public static OpeningBook create(Path path, int capacityBits) throws IOException {
+        if (capacityBits < 4 || capacityBits > 36) {
+            throw new IllegalArgumentException("capacityBits must be 4..36: " + capacityBits);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return new OpeningBook(channel, capacityBits, true, true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static OpeningBook open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            return new OpeningBook(channel, 0, false, false);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static long hash(long key) {
+        key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+        key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+        return key ^ (key >>> 31);
+    }
+
+    private MappedByteBuffer segment(long slot) {
+        return segments[(int) (slot >>> SEGMENT_BITS)];
+    }
+
+    private static int offset(long slot) {
+        return (int) (slot & ((1L << SEGMENT_BITS) - 1)) * ENTRY_BYTES;
+    }
+
+    // Returns -1 once every slot has been probed, which only a corrupt or foreign file can cause.
+    private long find(long key) {
+        long slot = hash(key) & mask;
+        for (long probes = 0; probes <= mask; probes++, slot = (slot + 1) & mask) {
+            long stored = segment(slot).getLong(offset(slot));
+            if (stored == key || stored == 0L) return slot;
+        }
+        return -1;
+    }
+
+    public int bestMove(long tiles) {
+        int symmetry = BoardSymmetry.canonicalSymmetry(tiles);
+        long key = BoardSymmetry.apply(tiles, symmetry);
+        long slot = find(key);
+        if (slot < 0) return -1;
+
+        MappedByteBuffer segment = segment(slot);
+        int offset = offset(slot);
+        if (segment.getLong(offset) == 0L) return -1;
+
+        return BoardSymmetry.unmapMove(segment.get(offset + 12), symmetry);
+    }
+
+    public float value(long tiles) {
+        long key = BoardSymmetry.canonical(tiles);
+        long slot = find(key);
+        if (slot < 0) return Float.NaN;
+
+        MappedByteBuffer segment = segment(slot);
+        int offset = offset(slot);
+        return segment.getLong(offset) == 0L ? Float.NaN : segment.getFloat(offset + 8);
+    }
+
+    public void put(long tiles, int move, double value) {
+        if (!writable) {
+            throw new IllegalStateException("Opening book is read-only");
+        }
+        if (tiles == 0L || move < 0 || move > 3) {
+            throw new IllegalArgumentException("Invalid book entry: " + Long.toHexString(tiles) + " move " + move);
+        }
+
+        int symmetry = BoardSymmetry.canonicalSymmetry(tiles);
+        long key = BoardSymmetry.apply(tiles, symmetry);
+        long slot = find(key);
+        if (slot < 0) {
+            throw new IllegalStateException("Opening book is full: " + size + " entries");
+        }
+
+        MappedByteBuffer segment = segment(slot);
+        int offset = offset(slot);
+        boolean added = segment.getLong(offset) == 0L;
+        if (added && size + 1 > (mask + 1) * MAX_LOAD) {
+            throw new IllegalStateException("Opening book is full: " + size + " entries");
+        }
+
+        segment.putFloat(offset + 8, (float) value);
+        segment.put(offset + 12, (byte) BoardSymmetry.mapMove(move, symmetry));
+        segment.putLong(offset, key);
+        if (added) {
+            size++;
+            header.putLong(16, size);
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long capacity() {
+        return mask + 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writable) {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+            header.force();
+        }
+        channel.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.game2048;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+public class OpeningBookBuilder {
+    private final ExpectimaxSolver solver;
+
+    public OpeningBookBuilder(ExpectimaxSolver solver) {
+        this.solver = solver;
+    }
+
+    public Set<Long> collectPositions(int games, int plies, long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        Set<Long> positions = new LinkedHashSet<>();
+        for (int game = 0; game < games; game++) {
+            SplittableRandom random = root.split();
+            long tiles = 0L;
+            for (int i = 0; i < GameConstants.INITIAL_TILES_COUNT; i++) {
+                tiles = BitBoard.addRandomTile(tiles, random);
+            }
+
+            for (int ply = 0; ply < plies; ply++) {
+                positions.add(BoardSymmetry.canonical(tiles));
+                int direction = MovePolicy.GREEDY.chooseMove(tiles, random);
+                if (direction < 0) break;
+
+                tiles = BitBoard.addRandomTile(BitBoard.move(tiles, direction), random);
+            }
+        }
+        return positions;
+    }
+
+    public int build(OpeningBook book, Set<Long> positions) {
+        int added = 0;
+        for (long tiles : positions) {
+            ExpectimaxSolver.Result result = solver.solve(tiles);
+            if (result.getMove() < 0) continue;
+
+            book.put(tiles, result.getMove(), result.getValue());
+            added++;
+        }
+        return added;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Path.of(args[0]) : OpeningBook.DEFAULT_PATH;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int plies = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int depth = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        int capacityBits = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+        int threads = args.length > 5 ? Integer.parseInt(args[5])
+                : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : 2048;
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        OpeningBookBuilder builder = new OpeningBookBuilder(
+                new ExpectimaxSolver(depth, 0, ExpectimaxSolver.DEFAULT_EVALUATOR, pool));
+        long start = System.nanoTime();
+        Set<Long> positions = builder.collectPositions(games, plies, seed);
+        try (OpeningBook book = OpeningBook.create(path, capacityBits)) {
+            int added = builder.build(book, positions);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s: positions=%d entries=%d capacity=%d time=%.1fs%n",
+                    path, positions.size(), added, book.capacity(), seconds);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.game2048;
+
+import java.util.random.RandomGenerator;
+
+class RandomSpawns implements SpawnSource {
+    private final RandomGenerator random;
+    private final boolean splitPerGame;
+
+    RandomSpawns(RandomGenerator random, boolean splitPerGame) {
+        if (splitPerGame && !(random instanceof RandomGenerator.SplittableGenerator)) {
+            throw new IllegalArgumentException("Per-game streams need a splittable generator: " + random);
+        }
+        this.random = random;
+        this.splitPerGame = splitPerGame;
+    }
+
+    @Override
+    public int selectEmpty(int emptyCount) {
+        return random.nextInt(emptyCount);
+    }
+
+    @Override
+    public int selectExponent() {
+        return random.nextInt(10) < 9 ? 1 : 2;
+    }
+
+    @Override
+    public SpawnSource nextGame() {
+        if (!splitPerGame) return this;
+
+        return new RandomSpawns(((RandomGenerator.SplittableGenerator) random).split(), true);
+    }
+}
\ No newline at end of file
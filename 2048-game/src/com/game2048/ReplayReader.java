@@ -0,0 +1,159 @@
+package com.game2048;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class ReplayReader implements Closeable {
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer buffer;
+    private long bufferStart;
+    private long position;
+
+    private long seed;
+    private int moves;
+    private int payloadStart;
+    private boolean hasGame;
+
+    public ReplayReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        fileSize = channel.size();
+        if (fileSize < Long.BYTES) {
+            channel.close();
+            throw new IOException("Not a replay file: " + path);
+        }
+        ensure(Long.BYTES);
+        if (buffer.getLong(0) != ReplayWriter.MAGIC) {
+            channel.close();
+            throw new IOException("Not a replay file: " + path);
+        }
+        position = Long.BYTES;
+    }
+
+    public boolean nextGame() throws IOException {
+        if (hasGame) {
+            position += ReplayWriter.HEADER_BYTES + payloadBytes(moves);
+        }
+        hasGame = position + ReplayWriter.HEADER_BYTES <= fileSize;
+        if (!hasGame) return false;
+
+        ensure(ReplayWriter.HEADER_BYTES);
+        int offset = (int) (position - bufferStart);
+        int header = buffer.getInt(offset + Long.BYTES);
+        int count = header & ReplayWriter.MAX_MOVES;
+        hasGame = (header & ~ReplayWriter.MAX_MOVES) == ReplayWriter.RECORD_TAG
+                && position + ReplayWriter.HEADER_BYTES + payloadBytes(count) <= fileSize;
+        if (!hasGame) return false;
+
+        ensure(ReplayWriter.HEADER_BYTES + payloadBytes(count));
+
+        offset = (int) (position - bufferStart);
+        seed = buffer.getLong(offset);
+        moves = count;
+        payloadStart = offset + ReplayWriter.HEADER_BYTES;
+        return true;
+    }
+
+    public long getSeed() { return seed; }
+    public int getMoveCount() { return moves; }
+
+    public int getMove(int index) {
+        checkIndex(index, moves);
+        return code(initialBits() + index * ReplayWriter.MOVE_BITS, 2);
+    }
+
+    public int getInitialSpawn(int index) {
+        checkIndex(index, GameConstants.INITIAL_TILES_COUNT);
+        return code(index * ReplayWriter.SPAWN_BITS, ReplayWriter.SPAWN_BITS);
+    }
+
+    public int getSpawn(int moveIndex) {
+        checkIndex(moveIndex, moves);
+        return code(initialBits() + moveIndex * ReplayWriter.MOVE_BITS + 2, ReplayWriter.SPAWN_BITS);
+    }
+
+    public BitBoard rebuild(int moveCount) {
+        checkIndex(moveCount, moves + 1);
+        long tiles = 0L;
+        for (int i = 0; i < GameConstants.INITIAL_TILES_COUNT; i++) {
+            tiles = placeSpawn(tiles, getInitialSpawn(i));
+        }
+
+        int score = 0;
+        for (int i = 0; i < moveCount; i++) {
+            int direction = getMove(i);
+            score += BitBoard.moveScore(tiles, direction);
+            tiles = placeSpawn(BitBoard.move(tiles, direction), getSpawn(i));
+        }
+
+        BitBoard board = new BitBoard();
+        board.restore(tiles, score);
+        return board;
+    }
+
+    static long placeSpawn(long tiles, int code) {
+        long exponent = (code & 0x10) != 0 ? 2 : 1;
+        return tiles | exponent << ((code & 0xF) * 4);
+    }
+
+    private static int initialBits() {
+        return GameConstants.INITIAL_TILES_COUNT * ReplayWriter.SPAWN_BITS;
+    }
+
+    private static int payloadBytes(int moves) {
+        return (initialBits() + moves * ReplayWriter.MOVE_BITS + 7) >>> 3;
+    }
+
+    private int code(int bit, int width) {
+        int value = 0;
+        for (int i = 0; i < width; i++) {
+            int b = bit + i;
+            if ((buffer.get(payloadStart + (b >>> 3)) & (1 << (b & 7))) != 0) {
+                value |= 1 << i;
+            }
+        }
+        return value;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer != null && position >= bufferStart
+                && position + bytes <= bufferStart + buffer.capacity()) return;
+
+        bufferStart = position;
+        long size = Math.min(Math.max(ReplayWriter.CHUNK_BYTES, bytes), fileSize - position);
+        if (size < bytes) {
+            throw new IOException("Truncated replay record at offset " + position);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, bufferStart, size);
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        channel.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        for (String file : args) {
+            SimulationStats stats = new SimulationStats();
+            try (ReplayReader reader = new ReplayReader(Path.of(file))) {
+                while (reader.nextGame()) {
+                    BitBoard board = reader.rebuild(reader.getMoveCount());
+                    stats.record(board.getScore(), BitBoard.maxExponent(board.getTiles()), reader.getMoveCount());
+                }
+            }
+            System.out.printf("%s: games=%d moves=%d avg score=%.1f best score=%d%n", file,
+                    stats.getGames(), stats.getMoves(), stats.getAverageScore(), stats.getBestScore());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.game2048;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class ReplayWriter implements Closeable {
+    static final long MAGIC = 0x3234384C50455232L;
+    static final int HEADER_BYTES = 12;
+    static final int RECORD_TAG = 0x5A000000;
+    static final int MAX_MOVES = 0x00FFFFFF;
+    static final int SPAWN_BITS = 5;
+    static final int MOVE_BITS = 2 + SPAWN_BITS;
+    static final long CHUNK_BYTES = 64L << 20;
+
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long bufferStart;
+    private long position;
+
+    private long seed;
+    private int moves;
+    private long[] bits = new long[64];
+    private int bitCount;
+    private boolean inGame;
+
+    public ReplayWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ensure(Long.BYTES);
+        buffer.putLong(MAGIC);
+        position = Long.BYTES;
+    }
+
+    public void beginGame(long seed) {
+        if (inGame) {
+            throw new IllegalStateException("Previous game was not ended");
+        }
+        this.seed = seed;
+        moves = 0;
+        bitCount = 0;
+        inGame = true;
+    }
+
+    public void spawn(int cell, int exponent) {
+        append((cell & 0xF) | (exponent == 2 ? 0x10 : 0), SPAWN_BITS);
+    }
+
+    public void move(int direction) {
+        append(direction & 0x3, 2);
+        moves++;
+    }
+
+    public void recordSpawn(long before, long after) {
+        long spawned = after ^ before;
+        int cell = Long.numberOfTrailingZeros(spawned) >>> 2;
+        spawn(cell, (int) ((after >>> (cell * 4)) & 0xF));
+    }
+
+    public void endGame() throws IOException {
+        if (!inGame) {
+            throw new IllegalStateException("No game in progress");
+        }
+        if (moves > MAX_MOVES) {
+            throw new IllegalStateException("Too many moves for one replay record: " + moves);
+        }
+        int payload = (bitCount + 7) >>> 3;
+        ensure(HEADER_BYTES + payload);
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES);
+        for (int i = 0; i < payload; i++) {
+            buffer.put((byte) (bits[i >>> 3] >>> ((i & 7) * 8)));
+        }
+        buffer.putLong(start, seed);
+        buffer.putInt(start + Long.BYTES, RECORD_TAG | moves);
+        position += HEADER_BYTES + payload;
+        inGame = false;
+    }
+
+    private void append(int code, int width) {
+        int word = bitCount >>> 6;
+        if (word + 1 >= bits.length) {
+            bits = Arrays.copyOf(bits, bits.length * 2);
+        }
+        int offset = bitCount & 63;
+        bits[word] = offset == 0 ? code : bits[word] | ((long) code << offset);
+        if (offset + width > 64) {
+            bits[word + 1] = (long) code >>> (64 - offset);
+        }
+        bitCount += width;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer != null && buffer.remaining() >= bytes) return;
+
+        if (buffer != null) {
+            buffer.force();
+        }
+        bufferStart = position;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, bufferStart, Math.max(CHUNK_BYTES, bytes));
+    }
+
+    public long size() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+        channel.truncate(position);
+        channel.close();
+    }
+}
\ No newline at end of file
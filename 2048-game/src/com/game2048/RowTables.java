@@ -0,0 +1,77 @@
+package com.game2048;
+
+public final class RowTables {
+    public static final int ROWS = 1 << 16;
+    public static final int MAX_EXPONENT = 15;
+
+    public static final char[] LEFT = new char[ROWS];
+    public static final char[] RIGHT = new char[ROWS];
+    public static final int[] SCORE = new int[ROWS];
+
+    static {
+        for (int row = 0; row < ROWS; row++) {
+            LEFT[row] = (char) slideLeft(row);
+            RIGHT[reverse(row)] = (char) reverse(LEFT[row]);
+            SCORE[row] = mergeScore(row);
+        }
+    }
+
+    private RowTables() {
+    }
+
+    public static boolean changesLeft(int row) {
+        return LEFT[row] != row;
+    }
+
+    public static boolean changesRight(int row) {
+        return RIGHT[row] != row;
+    }
+
+    public static int reverse(int row) {
+        return ((row & 0xF) << 12) | ((row & 0xF0) << 4)
+                | ((row >>> 4) & 0xF0) | ((row >>> 12) & 0xF);
+    }
+
+    static int slideLeft(int row) {
+        int result = 0;
+        int target = 0;
+        int pending = 0;
+
+        for (int i = 0; i < 4; i++) {
+            int exponent = (row >>> (i * 4)) & 0xF;
+            if (exponent == 0) continue;
+
+            if (pending == 0) {
+                pending = exponent;
+            } else if (pending == exponent && exponent < MAX_EXPONENT) {
+                result |= (exponent + 1) << (target++ * 4);
+                pending = 0;
+            } else {
+                result |= pending << (target++ * 4);
+                pending = exponent;
+            }
+        }
+        if (pending != 0) {
+            result |= pending << (target * 4);
+        }
+        return result;
+    }
+
+    static int mergeScore(int row) {
+        int gain = 0;
+        int pending = 0;
+
+        for (int i = 0; i < 4; i++) {
+            int exponent = (row >>> (i * 4)) & 0xF;
+            if (exponent == 0) continue;
+
+            if (pending == exponent && exponent < MAX_EXPONENT) {
+                gain += 1 << (exponent + 1);
+                pending = 0;
+            } else {
+                pending = exponent;
+            }
+        }
+        return gain;
+    }
+}
\ No newline at end of file
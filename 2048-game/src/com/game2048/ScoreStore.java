@@ -0,0 +1,254 @@
+package com.game2048;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ScoreStore implements Closeable {
+    static final long MAGIC = 0x3230343853434F52L;
+    static final int RECORD_BYTES = 16;
+    static final byte GAME_RECORD = 1;
+    static final int SYNC_RECORDS = 32;
+    static final long SYNC_INTERVAL_MILLIS = 1000;
+    static final int CHECKPOINT_RECORDS = 1024;
+    static final int CHECKPOINT_BYTES = 2 * Long.BYTES + SimulationStats.BYTES + 33 * Long.BYTES;
+
+    public static final Path DEFAULT_PATH = Path.of(System.getProperty("user.home"), ".2048-scores");
+
+    private final Path path;
+    private final FileChannel log;
+    private final Path checkpointPath;
+    private final SimulationStats stats = new SimulationStats();
+    private final long[] durationHistogram = new long[32];
+    private long totalDurationMillis;
+    private volatile int bestScore;
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "score-store");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ByteBuffer pending = ByteBuffer.allocate(SYNC_RECORDS * RECORD_BYTES);
+    private long logSize;
+    private int sinceCheckpoint;
+    private boolean closed;
+
+    private ScoreStore(Path path) throws IOException {
+        this.path = path;
+        checkpointPath = path.resolveSibling(path.getFileName() + ".ckpt");
+        log = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            lock();
+            recover();
+        } catch (IOException e) {
+            log.close();
+            throw e;
+        }
+        bestScore = stats.getBestScore();
+        writer.scheduleWithFixedDelay(this::syncQuietly, SYNC_INTERVAL_MILLIS, SYNC_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public static ScoreStore open(Path path) throws IOException {
+        return new ScoreStore(path);
+    }
+
+    private void lock() throws IOException {
+        FileLock lock;
+        try {
+            lock = log.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            throw new IOException("Score store is in use by another game: " + path);
+        }
+    }
+
+    private void recover() throws IOException {
+        long size = log.size();
+        if (size < Long.BYTES) {
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES).putLong(0, MAGIC);
+            log.write(header, 0);
+            log.truncate(Long.BYTES);
+            log.force(true);
+            logSize = Long.BYTES;
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(Long.BYTES);
+        log.read(header, 0);
+        if (header.getLong(0) != MAGIC) {
+            throw new IOException("Not a score store: " + path);
+        }
+
+        long offset = readCheckpoint(size);
+        long end = offset;
+        if (offset < size) {
+            MappedByteBuffer tail = log.map(FileChannel.MapMode.READ_ONLY, offset, size - offset);
+            while (tail.remaining() >= RECORD_BYTES && tail.get(tail.position()) == GAME_RECORD) {
+                tail.get();
+                int maxExponent = tail.get();
+                tail.getShort();
+                int score = tail.getInt();
+                int moves = tail.getInt();
+                int durationMillis = tail.getInt();
+                apply(score, maxExponent, moves, durationMillis);
+                sinceCheckpoint++;
+            }
+            end = offset + tail.position();
+        }
+        if (end < size) {
+            log.truncate(end);
+        }
+        logSize = end;
+    }
+
+    private long readCheckpoint(long size) throws IOException {
+        if (!Files.exists(checkpointPath)) return Long.BYTES;
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpointPath));
+        if (buffer.remaining() != CHECKPOINT_BYTES || buffer.getLong() != MAGIC) return Long.BYTES;
+
+        long offset = buffer.getLong();
+        if (offset < Long.BYTES || offset > size) return Long.BYTES;
+
+        stats.read(buffer);
+        totalDurationMillis = buffer.getLong();
+        for (int i = 0; i < durationHistogram.length; i++) {
+            durationHistogram[i] = buffer.getLong();
+        }
+        return offset;
+    }
+
+    public void recordGame(int score, int maxExponent, int moves, long durationMillis) {
+        if (score > bestScore) bestScore = score;
+        int exponent = Math.min(maxExponent, 15);
+        int millis = (int) Math.max(0, Math.min(durationMillis, Integer.MAX_VALUE));
+        synchronized (writer) {
+            if (closed) return;
+
+            writer.execute(() -> {
+                apply(score, exponent, moves, millis);
+                pending.put(GAME_RECORD).put((byte) exponent).putShort((short) 0)
+                        .putInt(score).putInt(moves).putInt(millis);
+                sinceCheckpoint++;
+                if (!pending.hasRemaining()) {
+                    syncQuietly();
+                }
+            });
+        }
+    }
+
+    private synchronized void apply(int score, int maxExponent, int moves, int durationMillis) {
+        stats.record(score, maxExponent, moves);
+        totalDurationMillis += durationMillis;
+        durationHistogram[32 - Integer.numberOfLeadingZeros(Math.max(durationMillis, 0) / 1000)]++;
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("Could not write " + path + ": " + e);
+        }
+    }
+
+    private void sync() throws IOException {
+        if (pending.position() > 0) {
+            pending.flip();
+            while (pending.hasRemaining()) {
+                logSize += log.write(pending, logSize);
+            }
+            pending.clear();
+            log.force(false);
+        }
+        if (sinceCheckpoint >= CHECKPOINT_RECORDS) {
+            checkpoint();
+        }
+    }
+
+    private void checkpoint() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_BYTES);
+        buffer.putLong(MAGIC);
+        buffer.putLong(logSize);
+        synchronized (this) {
+            stats.write(buffer);
+            buffer.putLong(totalDurationMillis);
+            for (long count : durationHistogram) {
+                buffer.putLong(count);
+            }
+        }
+        buffer.flip();
+
+        Path temp = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        sinceCheckpoint = 0;
+    }
+
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    public synchronized SimulationStats getStats() {
+        SimulationStats copy = new SimulationStats();
+        copy.merge(stats);
+        return copy;
+    }
+
+    public synchronized long getTotalDurationMillis() {
+        return totalDurationMillis;
+    }
+
+    public synchronized long[] getDurationHistogram() {
+        return durationHistogram.clone();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writer) {
+            if (closed) return;
+            closed = true;
+        }
+        writer.execute(() -> {
+            if (sinceCheckpoint > 0) {
+                sinceCheckpoint = CHECKPOINT_RECORDS;
+            }
+            syncQuietly();
+        });
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Path.of(args[0]) : DEFAULT_PATH;
+        try (ScoreStore store = open(path)) {
+            SimulationStats stats = store.getStats();
+            System.out.printf("%s: games=%d moves=%d avg score=%.1f best score=%d win rate=%.4f time=%ds%n",
+                    path, stats.getGames(), stats.getMoves(), stats.getAverageScore(), stats.getBestScore(),
+                    stats.getWinRate(), store.getTotalDurationMillis() / 1000);
+        }
+    }
+}
\ No newline at end of file
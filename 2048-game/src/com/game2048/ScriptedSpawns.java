@@ -0,0 +1,40 @@
+package com.game2048;
+
+class ScriptedSpawns implements SpawnSource {
+    private final int[] script;
+    private int position;
+
+    ScriptedSpawns(int[] script) {
+        if (script.length == 0 || script.length % 2 != 0) {
+            throw new IllegalArgumentException("Script must hold (empty index, exponent) pairs: " + script.length);
+        }
+        for (int i = 0; i < script.length; i += 2) {
+            if (script[i] < 0) {
+                throw new IllegalArgumentException("Negative empty index at " + i + ": " + script[i]);
+            }
+            if (script[i + 1] < 1 || script[i + 1] > 15) {
+                throw new IllegalArgumentException("Invalid exponent at " + (i + 1) + ": " + script[i + 1]);
+            }
+        }
+        this.script = script.clone();
+    }
+
+    @Override
+    public int selectEmpty(int emptyCount) {
+        int index = script[position] % emptyCount;
+        position++;
+        return index;
+    }
+
+    @Override
+    public int selectExponent() {
+        int exponent = script[position];
+        position = position + 1 == script.length ? 0 : position + 1;
+        return exponent;
+    }
+
+    @Override
+    public SpawnSource nextGame() {
+        return new ScriptedSpawns(script);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.game2048;
+
+import java.util.random.RandomGenerator;
+
+public class SessionTable {
+    private final long[] tiles;
+    private final int[] scores;
+    private final boolean[] active;
+    private final int[] free;
+    private int freeCount;
+
+    public SessionTable(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        }
+        tiles = new long[capacity];
+        scores = new int[capacity];
+        active = new boolean[capacity];
+        free = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            free[i] = capacity - 1 - i;
+        }
+        freeCount = capacity;
+    }
+
+    public int create(RandomGenerator random) {
+        if (freeCount == 0) return -1;
+
+        int id = free[--freeCount];
+        long board = 0L;
+        for (int i = 0; i < GameConstants.INITIAL_TILES_COUNT; i++) {
+            board = BitBoard.addRandomTile(board, random);
+        }
+        tiles[id] = board;
+        scores[id] = 0;
+        active[id] = true;
+        return id;
+    }
+
+    public boolean isActive(int id) {
+        return id >= 0 && id < active.length && active[id];
+    }
+
+    public int move(int id, int direction, RandomGenerator random) {
+        long board = tiles[id];
+        long next = BitBoard.move(board, direction);
+        int flags = 0;
+        if (next != board) {
+            scores[id] += BitBoard.moveScore(board, direction);
+            board = BitBoard.addRandomTile(next, random);
+            tiles[id] = board;
+            flags |= GameProtocol.FLAG_MOVED;
+        }
+        return flags | stateFlags(board);
+    }
+
+    public int stateFlags(int id) {
+        return stateFlags(tiles[id]);
+    }
+
+    private static int stateFlags(long board) {
+        int flags = 0;
+        if (!BitBoard.canMove(board)) flags |= GameProtocol.FLAG_GAME_OVER;
+        if (BitBoard.maxExponent(board) >= BitBoard.WINNING_EXPONENT) flags |= GameProtocol.FLAG_WON;
+        return flags;
+    }
+
+    public void close(int id) {
+        if (!isActive(id)) return;
+
+        active[id] = false;
+        free[freeCount++] = id;
+    }
+
+    public long getTiles(int id) { return tiles[id]; }
+    public int getScore(int id) { return scores[id]; }
+    public int size() { return active.length - freeCount; }
+    public int capacity() { return active.length; }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.game2048;
+
+import java.nio.ByteBuffer;
+
+public class SimulationStats {
+    static final int BYTES = 4 * Long.BYTES + Integer.BYTES + (32 + 16) * Long.BYTES;
+
+    private long games;
+    private long wins;
+    private long moves;
+    private long totalScore;
+    private int bestScore;
+    private final long[] scoreHistogram = new long[32];
+    private final long[] maxTileHistogram = new long[16];
+
+    public void record(int score, int maxExponent, int moveCount) {
+        games++;
+        moves += moveCount;
+        totalScore += score;
+        if (score > bestScore) bestScore = score;
+        if (maxExponent >= BitBoard.WINNING_EXPONENT) wins++;
+        scoreHistogram[scoreBucket(score)]++;
+        maxTileHistogram[maxExponent]++;
+    }
+
+    public void merge(SimulationStats other) {
+        games += other.games;
+        wins += other.wins;
+        moves += other.moves;
+        totalScore += other.totalScore;
+        if (other.bestScore > bestScore) bestScore = other.bestScore;
+        for (int i = 0; i < scoreHistogram.length; i++) {
+            scoreHistogram[i] += other.scoreHistogram[i];
+        }
+        for (int i = 0; i < maxTileHistogram.length; i++) {
+            maxTileHistogram[i] += other.maxTileHistogram[i];
+        }
+    }
+
+    void write(ByteBuffer buffer) {
+        buffer.putLong(games);
+        buffer.putLong(wins);
+        buffer.putLong(moves);
+        buffer.putLong(totalScore);
+        buffer.putInt(bestScore);
+        for (long count : scoreHistogram) {
+            buffer.putLong(count);
+        }
+        for (long count : maxTileHistogram) {
+            buffer.putLong(count);
+        }
+    }
+
+    void read(ByteBuffer buffer) {
+        games = buffer.getLong();
+        wins = buffer.getLong();
+        moves = buffer.getLong();
+        totalScore = buffer.getLong();
+        bestScore = buffer.getInt();
+        for (int i = 0; i < scoreHistogram.length; i++) {
+            scoreHistogram[i] = buffer.getLong();
+        }
+        for (int i = 0; i < maxTileHistogram.length; i++) {
+            maxTileHistogram[i] = buffer.getLong();
+        }
+    }
+
+    public static int scoreBucket(int score) {
+        return 32 - Integer.numberOfLeadingZeros(score >>> 1);
+    }
+
+    public long getGames() { return games; }
+    public long getWins() { return wins; }
+    public long getMoves() { return moves; }
+    public long getTotalScore() { return totalScore; }
+    public int getBestScore() { return bestScore; }
+    public long[] getScoreHistogram() { return scoreHistogram.clone(); }
+    public long[] getMaxTileHistogram() { return maxTileHistogram.clone(); }
+
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    public double getAverageScore() {
+        return games == 0 ? 0 : (double) totalScore / games;
+    }
+}
\ No newline at end of file
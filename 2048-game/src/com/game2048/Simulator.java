@@ -0,0 +1,183 @@
+package com.game2048;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+public class Simulator {
+    private final MovePolicy policy;
+    private final int threads;
+    private final long seed;
+    private Path replayDirectory;
+
+    public Simulator(MovePolicy policy, int threads, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1: " + threads);
+        }
+        this.policy = policy;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    public void setReplayDirectory(Path replayDirectory) {
+        this.replayDirectory = replayDirectory;
+    }
+
+    public SimulationStats run(long games) throws InterruptedException {
+        SplittableRandom root = new SplittableRandom(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<SimulationStats>> results = new ArrayList<>();
+
+        try {
+            for (int worker = 0; worker < threads; worker++) {
+                int id = worker;
+                long share = games / threads + (worker < games % threads ? 1 : 0);
+                SplittableRandom random = root.split();
+                results.add(executor.submit(() -> play(id, share, random)));
+            }
+
+            SimulationStats total = new SimulationStats();
+            for (Future<SimulationStats> result : results) {
+                total.merge(result.get());
+            }
+            return total;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private SimulationStats play(int worker, long games, SplittableRandom random) throws IOException {
+        SimulationStats stats = new SimulationStats();
+        try (ReplayWriter recorder = replayDirectory == null ? null
+                : new ReplayWriter(replayDirectory.resolve("replay-" + worker + ".bin"))) {
+            for (long i = 0; i < games; i++) {
+                long gameSeed = random.nextLong();
+                if (recorder != null) {
+                    recorder.beginGame(gameSeed);
+                }
+                playGame(policy, new SplittableRandom(gameSeed), stats, recorder);
+                if (recorder != null) {
+                    recorder.endGame();
+                }
+            }
+        }
+        return stats;
+    }
+
+    public static void playGame(MovePolicy policy, RandomGenerator random, SimulationStats stats) {
+        playGame(policy, random, stats, null);
+    }
+
+    public static void playGame(MovePolicy policy, RandomGenerator random, SimulationStats stats,
+                                ReplayWriter recorder) {
+        long tiles = 0L;
+        for (int i = 0; i < GameConstants.INITIAL_TILES_COUNT; i++) {
+            long next = BitBoard.addRandomTile(tiles, random);
+            if (recorder != null) {
+                recorder.recordSpawn(tiles, next);
+            }
+            tiles = next;
+        }
+
+        int score = 0;
+        int moves = 0;
+        while (true) {
+            int direction = policy.chooseMove(tiles, random);
+            if (direction < 0) break;
+
+            long start = GameMetrics.ENABLED ? System.nanoTime() : 0L;
+            long next = BitBoard.move(tiles, direction);
+            if (next == tiles) break;
+
+            score += BitBoard.moveScore(tiles, direction);
+            long slid = GameMetrics.ENABLED ? System.nanoTime() : 0L;
+            long spawned = BitBoard.addRandomTile(next, random);
+            if (GameMetrics.ENABLED) {
+                long end = System.nanoTime();
+                GameMetrics.recordMove(end - start, BitBoard.countEmpty(next) - BitBoard.countEmpty(tiles));
+                GameMetrics.recordSpawn(next, spawned, end - slid);
+            }
+            tiles = spawned;
+            if (recorder != null) {
+                recorder.move(direction);
+                recorder.recordSpawn(next, tiles);
+            }
+            moves++;
+        }
+
+        stats.record(score, BitBoard.maxExponent(tiles), moves);
+    }
+
+    public static MovePolicy policyByName(String name) {
+        switch (name) {
+            case "random": return MovePolicy.RANDOM;
+            case "greedy": return MovePolicy.GREEDY;
+            case "expectimax": return MovePolicy.of(new ExpectimaxSolver(2, 0));
+            case "montecarlo": return MovePolicy.of(new MonteCarloPlayer(MonteCarloPlayer.DEFAULT_ROLLOUTS, 0));
+            default:
+                if (name.startsWith("ntuple:")) {
+                    return MovePolicy.of(loadNetwork(Path.of(name.substring("ntuple:".length()))));
+                }
+                throw new IllegalArgumentException("Unknown policy: " + name);
+        }
+    }
+
+    private static NTupleNetwork loadNetwork(Path path) {
+        try {
+            return NTupleNetwork.load(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        String policyName = args.length > 1 ? args[1] : "random";
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        if (GameMetrics.ENABLED) {
+            GameMetrics.start();
+        }
+        Simulator simulator = new Simulator(policyByName(policyName), threads, seed);
+        if (args.length > 4) {
+            simulator.setReplayDirectory(Path.of(args[4]));
+        }
+        long start = System.nanoTime();
+        SimulationStats stats = simulator.run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("policy=%s games=%d threads=%d seed=%d%n", policyName, stats.getGames(), threads, seed);
+        System.out.printf("time=%.2fs games/s=%.0f moves/s=%.0f%n",
+                seconds, stats.getGames() / seconds, stats.getMoves() / seconds);
+        System.out.printf("avg score=%.1f best score=%d win rate=%.4f%n",
+                stats.getAverageScore(), stats.getBestScore(), stats.getWinRate());
+
+        System.out.println("Max tile:");
+        long[] maxTiles = stats.getMaxTileHistogram();
+        for (int exponent = 1; exponent < maxTiles.length; exponent++) {
+            if (maxTiles[exponent] > 0) {
+                System.out.printf("  %6d: %d%n", 1 << exponent, maxTiles[exponent]);
+            }
+        }
+
+        System.out.println("Score:");
+        long[] scores = stats.getScoreHistogram();
+        for (int bucket = 0; bucket < scores.length; bucket++) {
+            if (scores[bucket] > 0) {
+                System.out.printf("  >= %7d: %d%n", bucket == 0 ? 0 : 1 << bucket, scores[bucket]);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.game2048;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+public interface SpawnSource {
+    int selectEmpty(int emptyCount);
+    int selectExponent();
+
+    default SpawnSource nextGame() {
+        return this;
+    }
+
+    static SpawnSource of(RandomGenerator random) {
+        return new RandomSpawns(random, false);
+    }
+
+    static SpawnSource seeded(long seed) {
+        return new RandomSpawns(new SplittableRandom(seed), true);
+    }
+
+    static SpawnSource scripted(int... spawns) {
+        return new ScriptedSpawns(spawns);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.game2048;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+public class TDTrainer {
+    public static final float DEFAULT_LEARNING_RATE = 0.1f;
+
+    private final NTupleNetwork network;
+    private final float step;
+    private final int threads;
+    private final SplittableRandom root;
+
+    public TDTrainer(NTupleNetwork network, float learningRate, int threads, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1: " + threads);
+        }
+        this.network = network;
+        this.step = learningRate / network.getFeatureCount();
+        this.threads = threads;
+        this.root = new SplittableRandom(seed);
+    }
+
+    public SimulationStats train(long games) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<SimulationStats>> results = new ArrayList<>();
+
+        try {
+            for (int worker = 0; worker < threads; worker++) {
+                long share = games / threads + (worker < games % threads ? 1 : 0);
+                SplittableRandom random = root.split();
+                results.add(executor.submit(() -> play(share, random)));
+            }
+
+            SimulationStats total = new SimulationStats();
+            for (Future<SimulationStats> result : results) {
+                total.merge(result.get());
+            }
+            return total;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Training worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private SimulationStats play(long games, SplittableRandom random) {
+        SimulationStats stats = new SimulationStats();
+        for (long i = 0; i < games; i++) {
+            playGame(new SplittableRandom(random.nextLong()), stats);
+        }
+        return stats;
+    }
+
+    private void playGame(RandomGenerator random, SimulationStats stats) {
+        long tiles = 0L;
+        for (int i = 0; i < GameConstants.INITIAL_TILES_COUNT; i++) {
+            tiles = BitBoard.addRandomTile(tiles, random);
+        }
+
+        int score = 0;
+        int moves = 0;
+        long previous = 0L;
+        boolean hasPrevious = false;
+
+        while (true) {
+            long bestAfter = tiles;
+            int bestReward = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int direction = 0; direction < 4; direction++) {
+                long next = BitBoard.move(tiles, direction);
+                if (next == tiles) continue;
+
+                int reward = BitBoard.moveScore(tiles, direction);
+                double value = reward + network.evaluate(next);
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestAfter = next;
+                    bestReward = reward;
+                }
+            }
+            if (bestAfter == tiles) break;
+
+            if (hasPrevious) {
+                network.update(previous, (float) (step * (bestValue - network.evaluate(previous))));
+            }
+            previous = bestAfter;
+            hasPrevious = true;
+
+            score += bestReward;
+            tiles = BitBoard.addRandomTile(bestAfter, random);
+            moves++;
+        }
+
+        if (hasPrevious) {
+            network.update(previous, (float) (-step * network.evaluate(previous)));
+        }
+        stats.record(score, BitBoard.maxExponent(tiles), moves);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        Path output = Path.of(args.length > 1 ? args[1] : "ntuple.bin");
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        float learningRate = args.length > 4 ? Float.parseFloat(args[4]) : DEFAULT_LEARNING_RATE;
+
+        NTupleNetwork network = Files.exists(output) ? NTupleNetwork.load(output) : new NTupleNetwork();
+        TDTrainer trainer = new TDTrainer(network, learningRate, threads, seed);
+
+        long round = Math.max(1, games / 10);
+        for (long played = 0; played < games; played += round) {
+            long start = System.nanoTime();
+            SimulationStats stats = trainer.train(Math.min(round, games - played));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("games=%d avg score=%.1f best score=%d win rate=%.4f games/s=%.0f%n",
+                    played + stats.getGames(), stats.getAverageScore(), stats.getBestScore(),
+                    stats.getWinRate(), stats.getGames() / seconds);
+        }
+
+        network.save(output);
+        System.out.println("Saved " + output);
+    }
+}
\ No newline at end of file
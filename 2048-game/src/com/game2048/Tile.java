@@ -45,16 +45,24 @@ public class Tile {
     }
 
     public Color getColor() {
+        return colorFor(value);
+    }
+
+    public Color getTextColor() {
+        return textColorFor(value);
+    }
+
+    public static Color colorFor(int value) {
         if (value == 0) return GameConstants.TILE_COLORS[0];
 
-        int index = (int) (Math.log(value) / Math.log(2));
+        int index = Integer.numberOfTrailingZeros(value);
         if (index >= GameConstants.TILE_COLORS.length) {
             index = GameConstants.TILE_COLORS.length - 1;
         }
         return GameConstants.TILE_COLORS[index];
     }
 
-    public Color getTextColor() {
+    public static Color textColorFor(int value) {
         return value < 8 ? GameConstants.DARK_TEXT_COLOR : GameConstants.LIGHT_TEXT_COLOR;
     }
 
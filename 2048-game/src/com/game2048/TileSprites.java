@@ -0,0 +1,54 @@
+package com.game2048;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+public class TileSprites {
+    private static final int MAX_EXPONENT = 31;
+
+    private final int tileSize;
+    private final Font font;
+    private final BufferedImage[] sprites = new BufferedImage[MAX_EXPONENT + 1];
+
+    public TileSprites(int tileSize) {
+        this.tileSize = tileSize;
+        this.font = new Font("Arial", Font.BOLD, tileSize / 3);
+    }
+
+    public BufferedImage get(int exponent) {
+        BufferedImage sprite = sprites[exponent];
+        if (sprite == null) {
+            sprite = render(exponent);
+            sprites[exponent] = sprite;
+        }
+        return sprite;
+    }
+
+    private BufferedImage render(int exponent) {
+        BufferedImage image = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            int value = exponent == 0 ? 0 : 1 << exponent;
+            g.setColor(Tile.colorFor(value));
+            g.fillRoundRect(0, 0, tileSize, tileSize, 10, 10);
+            if (value == 0) return image;
+
+            String valueText = String.valueOf(value);
+            g.setColor(Tile.textColorFor(value));
+            g.setFont(font);
+
+            FontMetrics fm = g.getFontMetrics();
+            int textX = (tileSize - fm.stringWidth(valueText)) / 2;
+            int textY = (tileSize + fm.getAscent()) / 2 - fm.getDescent();
+            g.drawString(valueText, textX, textY);
+            return image;
+        } finally {
+            g.dispose();
+        }
+    }
+
+    public int getTileSize() { return tileSize; }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.game2048;
+
+import java.util.Arrays;
+
+public class TranspositionTable {
+    private final long[] keys;
+    private final double[] values;
+    private final byte[] depths;
+    private final int mask;
+
+    public TranspositionTable(int capacityBits) {
+        int capacity = 1 << capacityBits;
+        keys = new long[capacity];
+        values = new double[capacity];
+        depths = new byte[capacity];
+        mask = capacity - 1;
+        clear();
+    }
+
+    public boolean contains(long tiles, int depth) {
+        int slot = slot(tiles);
+        return keys[slot] == tiles && depths[slot] >= depth;
+    }
+
+    public double get(long tiles) {
+        return values[slot(tiles)];
+    }
+
+    public void put(long tiles, int depth, double value) {
+        int slot = slot(tiles);
+        keys[slot] = tiles;
+        depths[slot] = (byte) depth;
+        values[slot] = value;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, -1L);
+    }
+
+    private int slot(long tiles) {
+        long h = tiles * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 40) & mask;
+    }
+}
\ No newline at end of file
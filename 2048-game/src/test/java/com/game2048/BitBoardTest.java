@@ -0,0 +1,230 @@
+package com.game2048;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BitBoardTest {
+    private static final int BOARDS = 20_000;
+    private static final int SIZE = BitBoard.SIZE;
+    private static final int CAPPED_VALUE = 1 << RowTables.MAX_EXPONENT;
+
+    @Test
+    void gameBoardMatchesListMergeOnRandomBoards() {
+        SplittableRandom random = new SplittableRandom(2048);
+        for (int i = 0; i < BOARDS; i++) {
+            long tiles = randomTiles(random);
+            for (int direction = 0; direction < 4; direction++) {
+                int[][] expected = unpack(tiles);
+                int gain = referenceMove(expected, direction);
+                boolean changed = !sameValues(unpack(tiles), expected);
+
+                GameBoard grid = new GameBoard(SpawnSource.scripted(0, 1));
+                grid.restore(tiles, 0);
+                String context = Long.toHexString(tiles) + " direction " + direction;
+                assertEquals(changed, grid.move(direction), context);
+                assertEquals(gain, grid.getScore(), context);
+                assertSpawnedOver(expected, grid, changed, context);
+            }
+        }
+    }
+
+    @Test
+    void packedMovesMatchListMergeBelowTheCap() {
+        SplittableRandom random = new SplittableRandom(4096);
+        int compared = 0;
+        for (int i = 0; i < BOARDS; i++) {
+            long tiles = randomTiles(random);
+            for (int direction = 0; direction < 4; direction++) {
+                int[][] expected = unpack(tiles);
+                int gain = referenceMove(expected, direction);
+                if (mergedPastCap(expected)) continue;
+
+                String context = Long.toHexString(tiles) + " direction " + direction;
+                long moved = BitBoard.move(tiles, direction);
+                assertEquals(!sameValues(unpack(tiles), expected), moved != tiles, context);
+                assertTrue(sameValues(expected, unpack(moved)), context);
+                assertEquals(gain, BitBoard.moveScore(tiles, direction), context);
+                compared++;
+            }
+        }
+        assertTrue(compared > BOARDS * 3, "compared " + compared);
+    }
+
+    @Test
+    void packedBoardsDoNotMergePastTheCap() {
+        int max = RowTables.MAX_EXPONENT;
+        long pair = (long) max | (long) max << 4;
+        assertEquals(pair, BitBoard.move(pair, MoveDirection.LEFT.getCode()));
+        assertEquals(0, BitBoard.moveScore(pair, MoveDirection.LEFT.getCode()));
+
+        long slid = BitBoard.move(pair, MoveDirection.RIGHT.getCode());
+        assertEquals((long) max << 8 | (long) max << 12, slid);
+        assertEquals(0, BitBoard.moveScore(pair, MoveDirection.RIGHT.getCode()));
+
+        long below = (long) (max - 1) | (long) (max - 1) << 4;
+        assertEquals((long) max, BitBoard.move(below, MoveDirection.LEFT.getCode()));
+        assertEquals(CAPPED_VALUE, BitBoard.moveScore(below, MoveDirection.LEFT.getCode()));
+    }
+
+    @Test
+    void gameBoardMergesPastTheCapLikeTheListMerge() {
+        int max = RowTables.MAX_EXPONENT;
+        long pair = (long) max | (long) max << 4;
+        GameBoard grid = new GameBoard(SpawnSource.scripted(0, 1));
+        grid.restore(pair, 0);
+
+        assertTrue(grid.move(MoveDirection.LEFT.getCode()));
+        assertEquals(2 * CAPPED_VALUE, grid.getTileValue(0, 0));
+        assertEquals(2 * CAPPED_VALUE, grid.getScore());
+    }
+
+    @Test
+    void seededGamesMatchGameBoard() {
+        SplittableRandom random = new SplittableRandom(4096);
+        for (int game = 0; game < 200; game++) {
+            long seed = random.nextLong();
+            GameBoard grid = new GameBoard(SpawnSource.seeded(seed));
+            BitBoard packed = new BitBoard(SpawnSource.seeded(seed));
+            assertSameState(grid, packed, "game " + game + " start");
+
+            for (int move = 0; !grid.isGameOver(); move++) {
+                int direction = random.nextInt(4);
+                String context = "game " + game + " move " + move + " direction " + direction;
+                assertEquals(grid.move(direction), packed.move(direction), context);
+                assertSameState(grid, packed, context);
+            }
+            assertTrue(packed.isGameOver(), "game " + game);
+        }
+    }
+
+    @Test
+    void staticMoveMatchesInstanceMove() {
+        SplittableRandom random = new SplittableRandom(8192);
+        for (int i = 0; i < BOARDS; i++) {
+            long tiles = randomTiles(random);
+            for (int direction = 0; direction < 4; direction++) {
+                BitBoard board = new BitBoard(SpawnSource.seeded(i));
+                board.restore(tiles, 0);
+                long moved = BitBoard.move(tiles, direction);
+                board.move(direction);
+
+                if (moved == tiles) {
+                    assertEquals(tiles, board.getTiles());
+                } else {
+                    assertEquals(BitBoard.moveScore(tiles, direction), board.getScore());
+                    assertEquals(BitBoard.countEmpty(moved) - 1, BitBoard.countEmpty(board.getTiles()));
+                }
+            }
+        }
+    }
+
+    private static long randomTiles(SplittableRandom random) {
+        long tiles = 0L;
+        for (int cell = 0; cell < 16; cell++) {
+            if (random.nextInt(4) != 0) {
+                tiles |= (long) random.nextInt(1, RowTables.MAX_EXPONENT + 1) << (cell * 4);
+            }
+        }
+        return tiles;
+    }
+
+    // The list-based slide and merge GameBoard used before row tables, kept as the reference.
+    private static int referenceMove(int[][] board, int direction) {
+        boolean isVertical = direction == 0 || direction == 2;
+        boolean isForward = direction == 0 || direction == 3;
+        int gain = 0;
+
+        for (int i = 0; i < SIZE; i++) {
+            List<Integer> tiles = new ArrayList<>();
+            for (int j = 0; j < SIZE; j++) {
+                int value = board[row(i, j, isVertical, isForward)][col(i, j, isVertical, isForward)];
+                if (value != 0) {
+                    tiles.add(value);
+                }
+            }
+
+            List<Integer> merged = new ArrayList<>();
+            for (int k = 0; k < tiles.size(); k++) {
+                int current = tiles.get(k);
+                if (k < tiles.size() - 1 && current == tiles.get(k + 1)) {
+                    merged.add(current * 2);
+                    gain += current * 2;
+                    k++;
+                } else {
+                    merged.add(current);
+                }
+            }
+
+            for (int j = 0; j < SIZE; j++) {
+                board[row(i, j, isVertical, isForward)][col(i, j, isVertical, isForward)] =
+                        j < merged.size() ? merged.get(j) : 0;
+            }
+        }
+        return gain;
+    }
+
+    private static int row(int line, int j, boolean isVertical, boolean isForward) {
+        if (!isVertical) return line;
+        return isForward ? j : SIZE - 1 - j;
+    }
+
+    private static int col(int line, int j, boolean isVertical, boolean isForward) {
+        if (isVertical) return line;
+        return isForward ? j : SIZE - 1 - j;
+    }
+
+    private static int[][] unpack(long tiles) {
+        int[][] values = new int[SIZE][SIZE];
+        for (int cell = 0; cell < SIZE * SIZE; cell++) {
+            int exponent = (int) ((tiles >>> (cell * 4)) & 0xF);
+            values[cell / SIZE][cell % SIZE] = exponent == 0 ? 0 : 1 << exponent;
+        }
+        return values;
+    }
+
+    private static boolean sameValues(int[][] a, int[][] b) {
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                if (a[row][col] != b[row][col]) return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean mergedPastCap(int[][] values) {
+        for (int[] row : values) {
+            for (int value : row) {
+                if (value > CAPPED_VALUE) return true;
+            }
+        }
+        return false;
+    }
+
+    private static void assertSpawnedOver(int[][] expected, GameBoard grid, boolean moved, String context) {
+        int spawned = 0;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                int actual = grid.getTileValue(row, col);
+                if (actual == expected[row][col]) continue;
+
+                assertEquals(0, expected[row][col], context + " at " + row + "," + col);
+                assertEquals(2, actual, context + " at " + row + "," + col);
+                spawned++;
+            }
+        }
+        assertEquals(moved ? 1 : 0, spawned, context);
+    }
+
+    private static void assertSameState(GameBoard grid, BitBoard packed, String context) {
+        assertEquals(Long.toHexString(BitBoard.pack(grid)), Long.toHexString(packed.getTiles()), context);
+        assertEquals(grid.getScore(), packed.getScore(), context);
+        assertEquals(grid.isGameWon(), packed.isGameWon(), context);
+        assertEquals(grid.isGameOver(), packed.isGameOver(), context);
+    }
+}
\ No newline at end of file
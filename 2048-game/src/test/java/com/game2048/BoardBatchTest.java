@@ -0,0 +1,91 @@
+package com.game2048;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardBatchTest {
+    private static final int BOARDS = 4096;
+    private static final int ROUNDS = 8;
+
+    @Test
+    void supportedMovesMatchGameBoard() {
+        SplittableRandom random = new SplittableRandom(2048);
+        BoardBatch batch = new BoardBatch(BOARDS);
+        int compared = 0;
+        int flagged = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long[] boards = new long[BOARDS];
+            byte[] directions = new byte[BOARDS];
+            for (int i = 0; i < BOARDS; i++) {
+                boards[i] = randomTiles(random);
+                directions[i] = (byte) random.nextInt(4);
+            }
+            batch.load(boards);
+            int count = batch.move(directions);
+
+            int moved = 0;
+            for (int i = 0; i < BOARDS; i++) {
+                String context = Long.toHexString(boards[i]) + " direction " + directions[i];
+                assertEquals(BoardBatch.supports(batch.getTiles(i)), batch.isSupported(i), context);
+                if (batch.isMoved(i)) moved++;
+                if (!BoardBatch.supports(boards[i])) {
+                    flagged++;
+                    continue;
+                }
+
+                GameBoard grid = new GameBoard(SpawnSource.scripted(0, 1));
+                grid.restore(boards[i], 0);
+                assertEquals(grid.move(directions[i]), batch.isMoved(i), context);
+                assertEquals(grid.getScore(), batch.getGain(i), context);
+                assertEquals(grid.getScore(), batch.getScore(i), context);
+
+                long spawned = BitBoard.pack(grid) ^ batch.getTiles(i);
+                if (batch.isMoved(i)) {
+                    assertEquals(1, Long.bitCount(spawned), context);
+                    assertTrue(Long.numberOfTrailingZeros(spawned) % 4 == 0, context);
+                    assertEquals(0L, batch.getTiles(i) & (0xFL << Long.numberOfTrailingZeros(spawned)), context);
+                } else {
+                    assertEquals(0L, spawned, context);
+                }
+                compared++;
+            }
+            assertEquals(moved, count);
+        }
+        assertTrue(compared > BOARDS, "compared " + compared);
+        assertTrue(flagged > 0, "flagged " + flagged);
+    }
+
+    @Test
+    void boardsAtTheCapAreFlagged() {
+        int max = RowTables.MAX_EXPONENT;
+        long pair = (long) max | (long) max << 4;
+        assertFalse(BoardBatch.supports(pair));
+        assertFalse(BoardBatch.supports((long) max << 60));
+        assertTrue(BoardBatch.supports(0x0123456789ABCDEEL));
+
+        BoardBatch batch = new BoardBatch(1);
+        batch.set(0, pair, 0);
+        batch.move(MoveDirection.LEFT.getCode());
+        assertFalse(batch.isSupported(0));
+
+        GameBoard grid = new GameBoard(SpawnSource.scripted(0, 1));
+        grid.restore(pair, 0);
+        assertTrue(grid.move(MoveDirection.LEFT.getCode()));
+        assertFalse(batch.isMoved(0));
+    }
+
+    private static long randomTiles(SplittableRandom random) {
+        long tiles = 0L;
+        for (int cell = 0; cell < 16; cell++) {
+            if (random.nextInt(4) != 0) {
+                tiles |= (long) random.nextInt(1, RowTables.MAX_EXPONENT + 1) << (cell * 4);
+            }
+        }
+        return tiles;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.game2048;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardSymmetryTest {
+    private static final int BOARDS = 10_000;
+
+    @Test
+    void invertUndoesApply() {
+        forEachBoard((tiles, symmetry) -> {
+            assertEquals(tiles, BoardSymmetry.invert(BoardSymmetry.apply(tiles, symmetry), symmetry));
+            assertEquals(tiles, BoardSymmetry.apply(BoardSymmetry.invert(tiles, symmetry), symmetry));
+        });
+    }
+
+    @Test
+    void canonicalIsSharedBySymmetricBoards() {
+        forEachBoard((tiles, symmetry) -> {
+            long canonical = BoardSymmetry.canonical(tiles);
+            assertEquals(canonical, BoardSymmetry.canonical(BoardSymmetry.apply(tiles, symmetry)));
+            assertTrue(Long.compareUnsigned(canonical, BoardSymmetry.apply(tiles, symmetry)) <= 0);
+        });
+    }
+
+    @Test
+    void canonicalSymmetryProducesCanonicalBoard() {
+        forEachBoard((tiles, symmetry) -> assertEquals(BoardSymmetry.canonical(tiles),
+                BoardSymmetry.apply(tiles, BoardSymmetry.canonicalSymmetry(tiles))));
+    }
+
+    @Test
+    void mappedMovesCommuteWithSymmetry() {
+        forEachBoard((tiles, symmetry) -> {
+            long transformed = BoardSymmetry.apply(tiles, symmetry);
+            for (int direction = 0; direction < 4; direction++) {
+                int mapped = BoardSymmetry.mapMove(direction, symmetry);
+                assertEquals(BoardSymmetry.apply(BitBoard.move(tiles, direction), symmetry),
+                        BitBoard.move(transformed, mapped), "symmetry " + symmetry + " direction " + direction);
+                assertEquals(BitBoard.moveScore(tiles, direction), BitBoard.moveScore(transformed, mapped));
+            }
+        });
+    }
+
+    @Test
+    void unmapMoveUndoesMapMove() {
+        for (int symmetry = 0; symmetry < BoardSymmetry.COUNT; symmetry++) {
+            for (MoveDirection direction : MoveDirection.values()) {
+                int code = direction.getCode();
+                assertEquals(code, BoardSymmetry.unmapMove(BoardSymmetry.mapMove(code, symmetry), symmetry));
+                assertEquals(code, BoardSymmetry.mapMove(BoardSymmetry.unmapMove(code, symmetry), symmetry));
+                assertEquals(direction,
+                        BoardSymmetry.unmapMove(BoardSymmetry.mapMove(direction, symmetry), symmetry));
+            }
+        }
+    }
+
+    @Test
+    void mapCellAgreesWithApply() {
+        forEachBoard((tiles, symmetry) -> {
+            long transformed = BoardSymmetry.apply(tiles, symmetry);
+            for (int cell = 0; cell < 16; cell++) {
+                int target = BoardSymmetry.mapCell(cell, symmetry);
+                assertEquals(exponent(tiles, cell), exponent(transformed, target),
+                        "symmetry " + symmetry + " cell " + cell);
+            }
+        });
+    }
+
+    @Test
+    void rotationsAreSymmetries() {
+        forEachBoard((tiles, symmetry) -> {
+            assertEquals(tiles, BoardSymmetry.rotateCounterClockwise(BoardSymmetry.rotateClockwise(tiles)));
+            long rotated = tiles;
+            for (int i = 0; i < 4; i++) {
+                rotated = BoardSymmetry.rotateClockwise(rotated);
+            }
+            assertEquals(tiles, rotated);
+        });
+    }
+
+    private interface BoardCheck {
+        void check(long tiles, int symmetry);
+    }
+
+    private static void forEachBoard(BoardCheck check) {
+        SplittableRandom random = new SplittableRandom(17);
+        for (int i = 0; i < BOARDS; i++) {
+            long tiles = random.nextLong();
+            for (int symmetry = 0; symmetry < BoardSymmetry.COUNT; symmetry++) {
+                check.check(tiles, symmetry);
+            }
+        }
+    }
+
+    private static int exponent(long tiles, int cell) {
+        return (int) ((tiles >>> (cell * 4)) & 0xF);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.game2048;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HeuristicEvaluatorTest {
+    private static final int BOARDS = 1_000_000;
+
+    @Test
+    void defaultWeightsMatchTheHandWrittenEvaluator() {
+        HeuristicEvaluator evaluator = new HeuristicEvaluator();
+        SplittableRandom random = new SplittableRandom(2048);
+        for (int i = 0; i < BOARDS; i++) {
+            long tiles = randomTiles(random);
+            assertEquals(referenceValue(tiles), evaluator.evaluate(tiles), Long.toHexString(tiles));
+        }
+    }
+
+    @Test
+    void defaultEvaluatorUsesTheDefaultWeights() {
+        HeuristicEvaluator evaluator = new HeuristicEvaluator();
+        SplittableRandom random = new SplittableRandom(4096);
+        for (int i = 0; i < 10_000; i++) {
+            long tiles = randomTiles(random);
+            assertEquals(evaluator.evaluate(tiles), ExpectimaxSolver.DEFAULT_EVALUATOR.evaluate(tiles));
+        }
+    }
+
+    private static long randomTiles(SplittableRandom random) {
+        long tiles = 0L;
+        for (int cell = 0; cell < 16; cell++) {
+            if (random.nextInt(3) != 0) {
+                tiles |= (long) random.nextInt(1, RowTables.MAX_EXPONENT + 1) << (cell * 4);
+            }
+        }
+        return tiles;
+    }
+
+    // The evaluator ExpectimaxSolver used before the line tables, kept as the reference.
+    private static double referenceValue(long tiles) {
+        return BitBoard.countEmpty(tiles) * 270.0
+                + linesValue(tiles)
+                + linesValue(BitBoard.transpose(tiles));
+    }
+
+    private static double linesValue(long tiles) {
+        double value = 0;
+        for (int row = 0; row < 4; row++) {
+            int line = (int) ((tiles >>> (row * 16)) & 0xFFFF);
+            int increasing = 0;
+            int decreasing = 0;
+            int merges = 0;
+
+            for (int i = 0; i < 3; i++) {
+                int current = (line >>> (i * 4)) & 0xF;
+                int next = (line >>> ((i + 1) * 4)) & 0xF;
+                if (current != 0 && current == next) merges++;
+                if (current > next) {
+                    decreasing += current * current - next * next;
+                } else {
+                    increasing += next * next - current * current;
+                }
+            }
+            value += merges * 70.0 - Math.min(increasing, decreasing) * 47.0;
+        }
+        return value;
+    }
+}
\ No newline at end of file
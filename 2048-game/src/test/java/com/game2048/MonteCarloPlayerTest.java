@@ -0,0 +1,72 @@
+package com.game2048;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class MonteCarloPlayerTest {
+    private static final int SPAWNS = 12;
+
+    @Test
+    void rolloutStreamsAreReproducible() {
+        for (int stream = 0; stream < 8; stream++) {
+            assertArrayEquals(spawns(MonteCarloPlayer.rolloutRandom(42, stream)),
+                    spawns(MonteCarloPlayer.rolloutRandom(42, stream)), "stream " + stream);
+        }
+    }
+
+    @Test
+    void differentRolloutStreamsSpawnDifferently() {
+        SplittableRandom seeds = new SplittableRandom(2048);
+        for (int trial = 0; trial < 100; trial++) {
+            long seed = seeds.nextLong();
+            for (int stream = 0; stream < 8; stream++) {
+                long[] current = spawns(MonteCarloPlayer.rolloutRandom(seed, stream));
+                long[] next = spawns(MonteCarloPlayer.rolloutRandom(seed, stream + 1));
+                String context = "seed " + seed + " stream " + stream;
+                assertFalse(Arrays.equals(current, next), context);
+
+                // The next stream must not be this one shifted by a draw or two.
+                for (int skip = 1; skip <= 2; skip++) {
+                    SplittableRandom shifted = MonteCarloPlayer.rolloutRandom(seed, stream);
+                    for (int i = 0; i < skip; i++) {
+                        shifted.nextLong();
+                    }
+                    assertFalse(Arrays.equals(spawns(shifted), next), context + " skip " + skip);
+                }
+            }
+        }
+    }
+
+    @Test
+    void seededBestMoveIsReproducible() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            SplittableRandom random = new SplittableRandom(4096);
+            for (int i = 0; i < 20; i++) {
+                long tiles = BitBoard.addRandomTile(BitBoard.addRandomTile(0L, random), random);
+                long seed = random.nextLong();
+                MonteCarloPlayer player = new MonteCarloPlayer(8, 0, pool, 1);
+                assertEquals(player.bestMove(tiles, seed), player.bestMove(tiles, seed));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static long[] spawns(SplittableRandom random) {
+        long[] boards = new long[SPAWNS];
+        long tiles = 0L;
+        for (int i = 0; i < SPAWNS; i++) {
+            tiles = BitBoard.addRandomTile(tiles, random);
+            boards[i] = tiles;
+        }
+        return boards;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.game2048;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpeningBookTest {
+    private static final int BOARDS = 1_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void symmetricLookupsReturnTheMappedMove() throws IOException {
+        Path path = dir.resolve("book");
+        SplittableRandom random = new SplittableRandom(2048);
+        long[] boards = new long[BOARDS];
+        int[] moves = new int[BOARDS];
+        Set<Long> seen = new HashSet<>();
+
+        try (OpeningBook book = OpeningBook.create(path, 12)) {
+            for (int i = 0; i < BOARDS; i++) {
+                long tiles;
+                do {
+                    tiles = randomTiles(random);
+                } while (!BitBoard.canMove(tiles) || !seen.add(BoardSymmetry.canonical(tiles)));
+
+                int move;
+                do {
+                    move = random.nextInt(4);
+                } while (BitBoard.move(tiles, move) == tiles);
+
+                boards[i] = tiles;
+                moves[i] = move;
+                book.put(tiles, move, i);
+            }
+        }
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            assertEquals(BOARDS, book.size());
+            for (int i = 0; i < BOARDS; i++) {
+                for (int symmetry = 0; symmetry < BoardSymmetry.COUNT; symmetry++) {
+                    long variant = BoardSymmetry.apply(boards[i], symmetry);
+                    int move = book.bestMove(variant);
+                    String context = Long.toHexString(boards[i]) + " symmetry " + symmetry;
+                    assertTrue(move >= 0, context);
+                    assertEquals(BoardSymmetry.apply(BitBoard.move(boards[i], moves[i]), symmetry),
+                            BitBoard.move(variant, move), context);
+                    assertEquals(i, book.value(variant), context);
+                }
+            }
+        }
+    }
+
+    @Test
+    void lookupsInABookWithNoFreeSlotMiss() throws IOException {
+        Path path = dir.resolve("full");
+        try (OpeningBook book = OpeningBook.create(path, 4)) {
+            book.put(0x1L, 0, 0);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer entry = ByteBuffer.allocate(OpeningBook.ENTRY_BYTES);
+            for (int slot = 0; slot < 16; slot++) {
+                entry.clear();
+                entry.putLong(0, 0x100L + slot);
+                channel.write(entry, OpeningBook.HEADER_BYTES + (long) slot * OpeningBook.ENTRY_BYTES);
+            }
+        }
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertEquals(-1, book.bestMove(0x2211L));
+                assertTrue(Float.isNaN(book.value(0x2211L)));
+            });
+        }
+    }
+
+    private static long randomTiles(SplittableRandom random) {
+        long tiles = 0L;
+        for (int cell = 0; cell < 16; cell++) {
+            if (random.nextInt(3) != 0) {
+                tiles |= (long) random.nextInt(1, 12) << (cell * 4);
+            }
+        }
+        return tiles;
+    }
+}
\ No newline at end of file